@@ -0,0 +1,91 @@
+package com.ultikits.plugins.sidebar.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Entry point of the benchmark jar.
+ * <p>
+ * Accepts the usual JMH command line options and always enables the GC
+ * profiler, so every run reports allocation rate next to throughput.
+ * </p>
+ * <p>
+ * Afterwards it checks the steady state ({@code changeRate = 0.0}) runs of
+ * {@link SideBarRenderBenchmark}: an update in which nothing changes must not
+ * allocate more than {@code -Dsidebar.maxSteadyStateBytes} (default
+ * {@value #DEFAULT_MAX_STEADY_STATE_BYTES}) bytes per player. The process
+ * exits with status 1 if any run exceeds it.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class BenchmarkRunner {
+
+    // Slack for loop iterators the JIT does not always scalar-replace
+    static final long DEFAULT_MAX_STEADY_STATE_BYTES = 16;
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        long limit = Long.getLong("sidebar.maxSteadyStateBytes", DEFAULT_MAX_STEADY_STATE_BYTES);
+        if (!checkSteadyStateAllocation(results, limit)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Check allocation per player update of the steady state render runs.
+     *
+     * @return {@code true} if every checked run is within the limit
+     */
+    static boolean checkSteadyStateAllocation(Collection<RunResult> results, long limit) {
+        boolean passed = true;
+        for (RunResult result : results) {
+            if (!result.getParams().getBenchmark().startsWith(SideBarRenderBenchmark.class.getName())
+                || Double.parseDouble(result.getParams().getParam("changeRate")) != 0.0) {
+                continue;
+            }
+            Result<?> alloc = allocNorm(result);
+            if (alloc == null) {
+                continue;
+            }
+            int players = Integer.parseInt(result.getParams().getParam("players"));
+            double perUpdate = alloc.getScore() / players;
+            String label = "players=" + players + ", lines=" + result.getParams().getParam("lines");
+            if (perUpdate > limit) {
+                System.err.printf("FAIL steady state allocation %s: %.1f B/update (limit %d)%n", label, perUpdate, limit);
+                passed = false;
+            } else {
+                System.out.printf("OK   steady state allocation %s: %.1f B/update%n", label, perUpdate);
+            }
+        }
+        return passed;
+    }
+
+    // Older JMH versions prefix secondary result labels with a middle dot
+    private static Result<?> allocNorm(RunResult result) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(ALLOC_NORM)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,196 @@
+package com.ultikits.plugins.sidebar.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Allocation-light Bukkit stubs for the benchmarks.
+ * <p>
+ * Built on {@link Proxy} instead of Mockito so that invocation recording does
+ * not show up in the allocation numbers. Scoreboard setters are no-ops that
+ * only count mutations.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class BenchmarkStubs {
+
+    private static final Logger LOGGER = Logger.getLogger("UltiSideBar-Benchmark");
+
+    // Scoreboard mutations (team, score and objective setters) since the last reset
+    private static long mutations;
+
+    private BenchmarkStubs() {}
+
+    /**
+     * Install a stub server so {@code Bukkit.getScoreboardManager()} works.
+     * Bukkit only accepts one server per JVM, so later calls are ignored.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        ScoreboardManager manager = stub(ScoreboardManager.class, handlers()
+            .on("getNewScoreboard", args -> scoreboard())
+            .on("getMainScoreboard", args -> scoreboard()));
+        Server server = stub(Server.class, handlers()
+            .on("getScoreboardManager", args -> manager)
+            .on("getLogger", args -> LOGGER)
+            .on("getOnlinePlayers", args -> Collections.emptyList()));
+        Bukkit.setServer(server);
+    }
+
+    public static Player player(String name, UUID uuid, World world) {
+        return stub(Player.class, handlers()
+            .on("getName", args -> name)
+            .on("getUniqueId", args -> uuid)
+            .on("getWorld", args -> world)
+            .on("isOnline", args -> true)
+            .on("hasPermission", args -> true));
+    }
+
+    public static World world(String name) {
+        return stub(World.class, handlers()
+            .on("getName", args -> name));
+    }
+
+    public static Scoreboard scoreboard() {
+        Score score = stub(Score.class, counting());
+        Objective objective = stub(Objective.class, handlers()
+            .on("getScore", args -> score)
+            .on("setScore", BenchmarkStubs::mutation)
+            .on("setDisplayName", BenchmarkStubs::mutation)
+            .on("setDisplaySlot", BenchmarkStubs::mutation));
+        Team team = stub(Team.class, counting());
+        return stub(Scoreboard.class, handlers()
+            .on("registerNewObjective", args -> objective)
+            .on("registerNewTeam", args -> team)
+            .on("resetScores", BenchmarkStubs::mutation));
+    }
+
+    public static long getMutations() {
+        return mutations;
+    }
+
+    public static void resetMutations() {
+        mutations = 0;
+    }
+
+    /**
+     * Inject a private field, the same way the unit tests inject mocks.
+     */
+    public static void setField(Object target, String fieldName, Object value) throws Exception {
+        Class<?> clazz = target.getClass();
+        while (clazz != null) {
+            try {
+                Field field = clazz.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(fieldName);
+    }
+
+    private static Object mutation(Object[] args) {
+        mutations++;
+        return null;
+    }
+
+    // Every setter on the stub counts as one mutation
+    private static Handlers counting() {
+        return new Handlers() {
+            @Override
+            public Function<Object[], Object> get(Object key) {
+                Function<Object[], Object> handler = super.get(key);
+                String name = (String) key;
+                if (handler == null && (name.startsWith("set") || "addEntry".equals(name))) {
+                    return BenchmarkStubs::mutation;
+                }
+                return handler;
+            }
+        };
+    }
+
+    private static Handlers handlers() {
+        return new Handlers();
+    }
+
+    /**
+     * Method name to answer mapping of a stub.
+     */
+    private static class Handlers extends HashMap<String, Function<Object[], Object>> {
+
+        Handlers on(String method, Function<Object[], Object> answer) {
+            put(method, answer);
+            return this;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler != null) {
+                return handler.apply(args);
+            }
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return type == String.class ? "" : null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
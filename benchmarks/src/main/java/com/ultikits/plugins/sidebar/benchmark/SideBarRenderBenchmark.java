@@ -0,0 +1,106 @@
+package com.ultikits.plugins.sidebar.benchmark;
+
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+import com.ultikits.plugins.sidebar.service.SideBarService;
+import com.ultikits.plugins.sidebar.template.PlaceholderResolver;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one full sidebar refresh of every player through
+ * {@link SideBarService#updateSidebar(Player)}.
+ * <p>
+ * Each line carries one player scoped placeholder. {@code changeRate} is the
+ * fraction of lines whose value flips on every update: 0 measures the
+ * steady state where the content cache skips everything, 1 measures the
+ * worst case where every line is rewritten.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SideBarRenderBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int players;
+
+    @Param({"4", "15"})
+    private int lines;
+
+    @Param({"0.0", "0.1", "1.0"})
+    private double changeRate;
+
+    private SideBarService service;
+    private List<Player> online;
+
+    // Lines with an index below this flip value every update
+    private int changingLines;
+
+    private boolean flip;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkStubs.installServer();
+
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("&6&lBenchmark");
+        List<String> layout = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            layout.add("&eLine " + i + ": &f%bench_line" + i + "%");
+        }
+        config.setLines(layout);
+        changingLines = (int) Math.round(lines * changeRate);
+
+        service = new SideBarService();
+        BenchmarkStubs.setField(service, "config", config);
+        BenchmarkStubs.setField(service, "placeholderSource", placeholderSource());
+
+        World world = BenchmarkStubs.world("world");
+        online = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            Player player = BenchmarkStubs.player("Player" + i, UUID.randomUUID(), world);
+            online.add(player);
+            service.showSidebar(player);
+        }
+        BenchmarkStubs.resetMutations();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportMutations() {
+        System.out.println("Scoreboard mutations: " + BenchmarkStubs.getMutations());
+    }
+
+    @Benchmark
+    public void updateAllPlayers(Blackhole blackhole) {
+        flip = !flip;
+        for (Player player : online) {
+            service.updateSidebar(player);
+        }
+        blackhole.consume(flip);
+    }
+
+    // Returns constant strings so the stub itself does not allocate
+    private PlaceholderResolver placeholderSource() {
+        Map<String, Integer> lineOf = new HashMap<>();
+        for (int i = 0; i < lines; i++) {
+            lineOf.put("%bench_line" + i + "%", i);
+        }
+        return (player, token) -> lineOf.get(token.getRaw()) < changingLines && flip ? "beta" : "alpha";
+    }
+}
@@ -1,6 +1,10 @@
 package com.ultikits.plugins.sidebar.commands;
 
+import com.ultikits.plugins.sidebar.service.RollingHistogram;
 import com.ultikits.plugins.sidebar.service.SideBarService;
+import com.ultikits.plugins.sidebar.service.SideBarStats;
+import com.ultikits.plugins.sidebar.template.PlaceholderProfile;
+import com.ultikits.plugins.sidebar.template.PlaceholderToken;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.abstracts.command.BaseCommandExecutor;
 import com.ultikits.ultitools.annotations.Autowired;
@@ -10,7 +14,9 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -64,6 +70,57 @@ public class SideBarCommand extends BaseCommandExecutor {
         sender.sendMessage(plugin.i18n("sidebar_reloaded"));
     }
     
+    @CmdMapping(format = "stats", permission = "ultisidebar.admin")
+    public void stats(@CmdSender CommandSender sender) {
+        SideBarStats stats = sideBarService.getStats();
+        RollingHistogram.Snapshot cycles = stats.getCycleNanos();
+        
+        sender.sendMessage(plugin.i18n("sidebar_stats_title"));
+        sender.sendMessage(String.format(plugin.i18n("sidebar_stats_cycle_time"),
+            formatMillis(cycles.percentile(50)), formatMillis(cycles.percentile(95)),
+            formatMillis(cycles.percentile(99)), formatMillis(cycles.max()), cycles.size()));
+        sender.sendMessage(String.format(plugin.i18n("sidebar_stats_active"),
+            sideBarService.getActivePlayerCount(), sideBarService.getSharedViewerCount()));
+        sender.sendMessage(String.format(plugin.i18n("sidebar_stats_counters"),
+            stats.getCycles(), stats.getPlayersProcessed(), stats.getDirtyRefreshes()));
+        sender.sendMessage(String.format(plugin.i18n("sidebar_stats_lines"),
+            stats.getLinesResolved(), stats.getLinesReused(), stats.getLinesSkipped(), stats.getMutations()));
+        sender.sendMessage(String.format(plugin.i18n("sidebar_stats_deferred"),
+            stats.getDeferred(), stats.getBacklog()));
+        sender.sendMessage(String.format(plugin.i18n("sidebar_stats_async"),
+            sideBarService.getAsyncRejected()));
+        if (stats.getMspt() >= 0) {
+            sender.sendMessage(String.format(plugin.i18n("sidebar_stats_interval_adaptive"),
+                stats.getInterval(), stats.getMspt()));
+        } else {
+            sender.sendMessage(String.format(plugin.i18n("sidebar_stats_interval"), stats.getInterval()));
+        }
+    }
+    
+    @CmdMapping(format = "placeholders", permission = "ultisidebar.admin")
+    public void placeholders(@CmdSender CommandSender sender) {
+        // Most expensive first
+        List<PlaceholderToken> tokens = new ArrayList<>(sideBarService.getPlaceholders());
+        tokens.sort(Comparator.comparingLong((PlaceholderToken token) -> token.getProfile().getTotalNanos()).reversed());
+        
+        sender.sendMessage(plugin.i18n("sidebar_placeholders_title"));
+        for (PlaceholderToken token : tokens) {
+            PlaceholderProfile profile = token.getProfile();
+            String line = String.format(plugin.i18n("sidebar_placeholders_entry"),
+                token.getRaw(), profile.getCalls(), formatMillis(profile.getAverageNanos()),
+                formatMillis(profile.getMaxNanos()), formatMillis(profile.getTotalNanos()),
+                profile.getSlowCalls(), profile.getErrors());
+            if (profile.isOpen()) {
+                line += String.format(plugin.i18n("sidebar_placeholders_open"), profile.getShortCircuited());
+            }
+            sender.sendMessage(line);
+        }
+    }
+    
+    private static String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+    
     @CmdMapping(format = "")
     public void help(@CmdSender CommandSender sender) {
         sender.sendMessage(plugin.i18n("sidebar_help_title"));
@@ -72,6 +129,8 @@ public class SideBarCommand extends BaseCommandExecutor {
         sender.sendMessage(plugin.i18n("sidebar_help_off"));
         if (sender.hasPermission("ultisidebar.admin")) {
             sender.sendMessage(plugin.i18n("sidebar_help_reload"));
+            sender.sendMessage(plugin.i18n("sidebar_help_stats"));
+            sender.sendMessage(plugin.i18n("sidebar_help_placeholders"));
         }
     }
     
@@ -85,7 +144,7 @@ public class SideBarCommand extends BaseCommandExecutor {
         if (args.length == 1) {
             List<String> suggestions = Arrays.asList("toggle", "on", "off");
             if (player.hasPermission("ultisidebar.admin")) {
-                suggestions = Arrays.asList("toggle", "on", "off", "reload");
+                suggestions = Arrays.asList("toggle", "on", "off", "reload", "stats", "placeholders");
             }
             String input = args[0].toLowerCase();
             return suggestions.stream()
@@ -37,16 +37,31 @@ public class SideBarConfig extends AbstractConfigEntity {
     @ConfigEntry(path = "update-interval", comment = "更新间隔（tick，20 tick = 1秒）")
     private int updateInterval = 20;
 
+    @ConfigEntry(path = "adaptive-interval", comment = "服务器卡顿（MSPT 超过阈值）时自动延长更新间隔，恢复后逐步缩短")
+    private boolean adaptiveInterval = false;
+
+    @Range(min = 1, max = 1200)
+    @ConfigEntry(path = "max-update-interval", comment = "自适应模式下允许的最大更新间隔（tick）")
+    private int maxUpdateInterval = 60;
+
+    @Range(min = 1, max = 1000)
+    @ConfigEntry(path = "mspt-threshold", comment = "MSPT 超过该值（毫秒）时延长更新间隔；Spigot 服务器上按 tick 间隔估算，只有 TPS 低于 20 时才会超过 50")
+    private int msptThreshold = 50;
+
+    @Range(min = 0, max = 50)
+    @ConfigEntry(path = "tick-budget", comment = "每 tick 更新侧边栏最多占用的毫秒数，超出的玩家顺延到下一 tick（0 为不限制）")
+    private int tickBudget = 5;
+
     @NotEmpty
     @Size(min = 1, max = 15)
-    @ConfigEntry(path = "lines", comment = "侧边栏内容（支持 PlaceholderAPI 变量）")
+    @ConfigEntry(path = "lines", comment = "侧边栏内容（支持 PlaceholderAPI 变量，行首加 [refresh:tick] 可设置该行的最短刷新间隔）")
     private List<String> lines = Arrays.asList(
         "&7欢迎, &f%player_name%",
         "",
         "&e在线人数: &f%server_online%/%server_max_players%",
         "&e世界: &f%world_name%",
         "",
-        "&e金币: &f%vault_eco_balance_formatted%",
+        "[refresh:100]&e金币: &f%vault_eco_balance_formatted%",
         "&ePing: &f%player_ping%ms",
         "",
         "&7服务器时间",
@@ -55,12 +70,67 @@ public class SideBarConfig extends AbstractConfigEntity {
         "&6play.example.com"
     );
 
+    @ConfigEntry(path = "server-placeholders", comment = "全服相同的变量，每个更新周期只解析一次（不含%，支持 * 后缀通配）")
+    private List<String> serverPlaceholders = Arrays.asList(
+        "server_online",
+        "server_max_players",
+        "server_time_*",
+        "server_tps*",
+        "server_name"
+    );
+
+    @ConfigEntry(path = "world-placeholders", comment = "同一世界内相同的变量，每个世界每周期只解析一次（不含%，支持 * 后缀通配）")
+    private List<String> worldPlaceholders = Collections.singletonList("world_name");
+
+    @ConfigEntry(path = "placeholder-ttl", comment = "变量解析结果的缓存时间，格式为 \"变量名: tick\"（不含%，支持 * 后缀通配），缓存期内每个玩家直接复用上次的结果")
+    private List<String> placeholderTtl = Arrays.asList(
+        "vault_eco_*: 100",
+        "player_ping: 40"
+    );
+
+    @Range(min = 100, max = 1000000)
+    @ConfigEntry(path = "placeholder-cache-size", comment = "变量缓存的最大条目数，超出时淘汰最早的条目")
+    private int placeholderCacheSize = 10000;
+
+    @Range(min = 0, max = 1000)
+    @ConfigEntry(path = "placeholder-slow-threshold", comment = "单次变量解析超过该毫秒数记为慢调用（0 为只统计异常）")
+    private int placeholderSlowThreshold = 10;
+
+    @Range(min = 1, max = 100)
+    @ConfigEntry(path = "placeholder-breaker-failures", comment = "连续慢调用或异常达到该次数后熔断该变量")
+    private int placeholderBreakerFailures = 3;
+
+    @Range(min = 20, max = 12000)
+    @ConfigEntry(path = "placeholder-breaker-cooldown", comment = "熔断持续时间（tick），期间不再调用该变量，显示上一次的正常值")
+    private int placeholderBreakerCooldown = 200;
+
+    @ConfigEntry(path = "placeholder-fallback", comment = "熔断或出错且没有正常值可用时显示的内容")
+    private String placeholderFallback = "-";
+
+    @ConfigEntry(path = "async-placeholders", comment = "线程安全、可在异步线程解析的变量（不含%，支持 * 后缀通配），解析期间先显示上一次的值；不确定是否线程安全的变量请勿加入")
+    private List<String> asyncPlaceholders = Collections.emptyList();
+
+    @Range(min = 1, max = 16)
+    @ConfigEntry(path = "async-threads", comment = "异步解析变量的线程数")
+    private int asyncThreads = 2;
+
+    @Range(min = 16, max = 100000)
+    @ConfigEntry(path = "async-queue-size", comment = "异步解析队列的最大长度，队列满时本次解析跳过并沿用旧值")
+    private int asyncQueueSize = 1024;
+
+    @ConfigEntry(path = "refresh-events", comment = "触发指定行立即刷新的事件，格式为 \"事件类名: 行号\"（行号从 1 开始，逗号分隔，* 为全部行；Bukkit 自带事件可省略包名）")
+    private List<String> refreshEvents = Collections.singletonList("PlayerChangedWorldEvent: 4");
+
     @ConfigEntry(path = "world-blacklist", comment = "禁用侧边栏的世界")
     private List<String> worldBlacklist = Collections.singletonList("world_event");
 
     @ConfigEntry(path = "default-enabled", comment = "玩家默认启用侧边栏")
     private boolean defaultEnabled = true;
 
+    @Range(min = 20, max = 12000)
+    @ConfigEntry(path = "save-interval", comment = "玩家偏好批量写入数据库的间隔（tick），关闭服务器时会立即写入")
+    private int saveInterval = 100;
+
     public SideBarConfig() {
         super("config/sidebar.yml");
     }
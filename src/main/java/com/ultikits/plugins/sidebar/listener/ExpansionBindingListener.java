@@ -0,0 +1,114 @@
+package com.ultikits.plugins.sidebar.listener;
+
+import com.ultikits.plugins.sidebar.template.PlaceholderResolver;
+import com.ultikits.plugins.sidebar.template.PlaceholderToken;
+
+import me.clip.placeholderapi.events.ExpansionRegisterEvent;
+import me.clip.placeholderapi.events.ExpansionUnregisterEvent;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Binds compiled placeholders straight to their PlaceholderAPI expansions.
+ * <p>
+ * Each token is looked up once and bound to a handler that calls
+ * {@link PlaceholderExpansion#onRequest} with the token's parameters, so
+ * rendering skips PlaceholderAPI's text scan and identifier lookup. Tokens
+ * are re-bound when expansions register or unregister.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class ExpansionBindingListener implements Listener {
+
+    private final Supplier<Collection<PlaceholderToken>> tokens;
+    private final Function<String, PlaceholderExpansion> lookup;
+    private final Consumer<PlaceholderToken> onRebind;
+
+    /**
+     * @param tokens   the placeholders of the current layout
+     * @param lookup   finds a registered expansion by lower case identifier
+     * @param onRebind called for every token whose expansion changed
+     */
+    public ExpansionBindingListener(Supplier<Collection<PlaceholderToken>> tokens,
+                                    Function<String, PlaceholderExpansion> lookup,
+                                    Consumer<PlaceholderToken> onRebind) {
+        this.tokens = tokens;
+        this.lookup = lookup;
+        this.onRebind = onRebind;
+    }
+
+    /**
+     * Bind every token of the current layout to its registered expansion.
+     */
+    public void bindAll() {
+        for (PlaceholderToken token : tokens.get()) {
+            PlaceholderExpansion expansion = lookup.apply(identifierOf(token));
+            token.bind(expansion != null ? new ExpansionHandler(expansion) : null);
+        }
+    }
+
+    public void unregister() {
+        HandlerList.unregisterAll(this);
+    }
+
+    // The event fires before the expansion is stored, so bind to the event's instance
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegister(ExpansionRegisterEvent event) {
+        PlaceholderExpansion expansion = event.getExpansion();
+        String identifier = expansion.getIdentifier().toLowerCase(Locale.ROOT);
+        for (PlaceholderToken token : tokens.get()) {
+            if (identifier.equals(identifierOf(token))) {
+                token.bind(new ExpansionHandler(expansion));
+                onRebind.accept(token);
+            }
+        }
+    }
+
+    // The event fires while the expansion is still stored, so unbind by instance
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onUnregister(ExpansionUnregisterEvent event) {
+        PlaceholderExpansion expansion = event.getExpansion();
+        for (PlaceholderToken token : tokens.get()) {
+            PlaceholderResolver handler = token.getHandler();
+            if (handler instanceof ExpansionHandler && ((ExpansionHandler) handler).expansion == expansion) {
+                token.bind(null);
+                onRebind.accept(token);
+            }
+        }
+    }
+
+    private static String identifierOf(PlaceholderToken token) {
+        return token.getIdentifier().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolves a token through its expansion; a {@code null} result keeps the
+     * placeholder text, like PlaceholderAPI does.
+     */
+    static final class ExpansionHandler implements PlaceholderResolver {
+
+        private final PlaceholderExpansion expansion;
+
+        ExpansionHandler(PlaceholderExpansion expansion) {
+            this.expansion = expansion;
+        }
+
+        @Override
+        public String resolve(Player player, PlaceholderToken token) {
+            String value = expansion.onRequest(player, token.getParams());
+            return value != null ? value : token.getRaw();
+        }
+    }
+}
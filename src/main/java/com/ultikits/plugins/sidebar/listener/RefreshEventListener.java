@@ -0,0 +1,200 @@
+package com.ultikits.plugins.sidebar.listener;
+
+import com.ultikits.plugins.sidebar.service.SideBarService;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Marks sidebar lines dirty when configured events fire.
+ * <p>
+ * Built from the {@code refresh-events} config, where each entry maps an
+ * event class to the lines it affects, e.g.
+ * {@code "PlayerChangedWorldEvent: 4"} or {@code "com.example.CoinsEvent: 5,6"}.
+ * Line numbers start at 1 and {@code *} means every line. Player and entity
+ * events dirty that player only; any other event dirties every player.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class RefreshEventListener implements Listener, EventExecutor {
+
+    // Packages searched for event names written without a package
+    private static final String[] BUKKIT_PACKAGES = {
+        "org.bukkit.event.player.",
+        "org.bukkit.event.entity.",
+        "org.bukkit.event.block.",
+        "org.bukkit.event.inventory.",
+        "org.bukkit.event.world.",
+        "org.bukkit.event.weather.",
+        "org.bukkit.event.server.",
+        "org.bukkit.event.vehicle.",
+        "org.bukkit.event.hanging.",
+        "org.bukkit.event.enchantment."
+    };
+
+    private final SideBarService service;
+    private final Map<Class<? extends Event>, Long> lineMasks;
+
+    private RefreshEventListener(SideBarService service, Map<Class<? extends Event>, Long> lineMasks) {
+        this.service = service;
+        this.lineMasks = lineMasks;
+    }
+
+    /**
+     * Parse the configured bindings.
+     *
+     * @param service the service to notify
+     * @param entries the {@code refresh-events} config entries
+     * @param warn    receives a message for every entry that cannot be used
+     * @return the listener, not yet registered
+     */
+    public static RefreshEventListener parse(SideBarService service, List<String> entries,
+                                             Consumer<String> warn) {
+        Map<Class<? extends Event>, Long> masks = new LinkedHashMap<>();
+        if (entries != null) {
+            for (String entry : entries) {
+                int split = entry.indexOf(':');
+                if (split < 0) {
+                    warn.accept("Invalid refresh event entry: " + entry);
+                    continue;
+                }
+                Class<? extends Event> eventClass = findEvent(entry.substring(0, split).trim());
+                long mask = parseLines(entry.substring(split + 1));
+                if (eventClass == null || mask == 0) {
+                    warn.accept("Invalid refresh event entry: " + entry);
+                    continue;
+                }
+                masks.merge(eventClass, mask, (a, b) -> a | b);
+            }
+        }
+        return new RefreshEventListener(service, masks);
+    }
+
+    /**
+     * Register a handler for every bound event.
+     *
+     * @param plugin the plugin owning the handlers
+     * @param warn   receives a message for every event that cannot be listened to
+     */
+    public void register(Plugin plugin, Consumer<String> warn) {
+        for (Class<? extends Event> eventClass : lineMasks.keySet()) {
+            try {
+                Bukkit.getPluginManager().registerEvent(
+                    eventClass, this, EventPriority.MONITOR, this, plugin, true);
+            } catch (RuntimeException e) {
+                // Abstract events without a handler list cannot be listened to
+                warn.accept("Cannot listen to " + eventClass.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public void unregister() {
+        HandlerList.unregisterAll(this);
+    }
+
+    @Override
+    public void execute(Listener listener, Event event) {
+        Long mask = maskFor(event.getClass());
+        if (mask == null) {
+            return;
+        }
+        Player player = playerOf(event);
+        if (player != null) {
+            service.markDirty(player.getUniqueId(), mask);
+        } else {
+            service.markAllDirty(mask);
+        }
+    }
+
+    /**
+     * Get the bound line mask of an event class.
+     *
+     * @return the mask, or {@code null} if the event is not bound
+     */
+    Long maskFor(Class<?> eventClass) {
+        // Handlers registered for a parent event also receive subclasses
+        long mask = 0;
+        for (Map.Entry<Class<? extends Event>, Long> entry : lineMasks.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClass)) {
+                mask |= entry.getValue();
+            }
+        }
+        return mask == 0 ? null : mask;
+    }
+
+    Map<Class<? extends Event>, Long> getLineMasks() {
+        return lineMasks;
+    }
+
+    private static Player playerOf(Event event) {
+        if (event instanceof PlayerEvent) {
+            return ((PlayerEvent) event).getPlayer();
+        }
+        if (event instanceof EntityEvent && ((EntityEvent) event).getEntity() instanceof Player) {
+            return (Player) ((EntityEvent) event).getEntity();
+        }
+        return null;
+    }
+
+    /**
+     * Parse {@code "1,3"} or {@code "*"} into a line bit mask.
+     *
+     * @return the mask, 0 if nothing valid was given
+     */
+    static long parseLines(String lines) {
+        long mask = 0;
+        for (String part : lines.split(",")) {
+            String trimmed = part.trim();
+            if ("*".equals(trimmed)) {
+                return SideBarService.ALL_LINES;
+            }
+            try {
+                int line = Integer.parseInt(trimmed);
+                if (line >= 1 && line <= Long.SIZE) {
+                    mask |= 1L << (line - 1);
+                }
+            } catch (NumberFormatException ignored) {
+                // Skipped, reported by the caller if nothing is left
+            }
+        }
+        return mask;
+    }
+
+    static Class<? extends Event> findEvent(String name) {
+        if (name.indexOf('.') >= 0) {
+            return loadEvent(name);
+        }
+        for (String pkg : BUKKIT_PACKAGES) {
+            Class<? extends Event> found = loadEvent(pkg + name);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Event> loadEvent(String className) {
+        try {
+            Class<?> found = Class.forName(className);
+            return Event.class.isAssignableFrom(found) ? (Class<? extends Event>) found : null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+}
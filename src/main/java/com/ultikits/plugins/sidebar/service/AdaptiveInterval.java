@@ -0,0 +1,133 @@
+package com.ultikits.plugins.sidebar.service;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.reflect.Method;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stretches the sidebar update interval while the server is lagging.
+ * <p>
+ * Server load is sampled once per second. When MSPT is above the threshold
+ * the interval doubles, up to the maximum; after several healthy seconds in a
+ * row it halves again, down to the configured base interval.
+ * </p>
+ * <p>
+ * MSPT comes from Paper's {@code getAverageTickTime()} when the server has
+ * it. On plain Spigot it is estimated from the wall time between ticks, which
+ * never reads below 50 ms and only rises once TPS drops.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class AdaptiveInterval {
+
+    // Ticks per load sample
+    static final int WINDOW = 20;
+
+    // Healthy samples in a row before the interval shrinks
+    static final int RECOVER_WINDOWS = 5;
+
+    private final int minInterval;
+    private final int maxInterval;
+    private final double threshold;
+
+    // Server reported MSPT, null when only the tick interval can be measured
+    private final DoubleSupplier serverMspt;
+
+    private int interval;
+    private double mspt;
+
+    private boolean started;
+    private long windowStart;
+    private int windowTicks;
+    private int healthyWindows;
+
+    /**
+     * @param minInterval base update interval in ticks
+     * @param maxInterval longest interval allowed under load
+     * @param threshold   MSPT above which the interval is stretched
+     * @param serverMspt  MSPT reported by the server, or {@code null} to measure tick intervals
+     */
+    public AdaptiveInterval(int minInterval, int maxInterval, double threshold, DoubleSupplier serverMspt) {
+        this.minInterval = Math.max(1, minInterval);
+        this.maxInterval = Math.max(this.minInterval, maxInterval);
+        this.threshold = threshold;
+        this.serverMspt = serverMspt;
+        this.interval = this.minInterval;
+    }
+
+    /**
+     * Get Paper's average tick time if this server exposes it.
+     *
+     * @return the MSPT supplier, or {@code null} on servers without it
+     */
+    public static DoubleSupplier serverMspt() {
+        Server server = Bukkit.getServer();
+        if (server == null) {
+            return null;
+        }
+        try {
+            Method method = server.getClass().getMethod("getAverageTickTime");
+            return () -> {
+                try {
+                    return ((Number) method.invoke(server)).doubleValue();
+                } catch (ReflectiveOperationException e) {
+                    return 0;
+                }
+            };
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Called once per tick.
+     *
+     * @param nanoTime current {@link System#nanoTime()}
+     * @return {@code true} if the interval changed
+     */
+    public boolean tick(long nanoTime) {
+        if (!started) {
+            started = true;
+            windowStart = nanoTime;
+            return false;
+        }
+        if (++windowTicks < WINDOW) {
+            return false;
+        }
+
+        // Whole milliseconds, so scheduler jitter around 50 ms does not count as lag
+        mspt = serverMspt != null
+            ? serverMspt.getAsDouble()
+            : (nanoTime - windowStart) / 1_000_000 / WINDOW;
+        windowStart = nanoTime;
+        windowTicks = 0;
+
+        int previous = interval;
+        if (mspt > threshold) {
+            healthyWindows = 0;
+            interval = Math.min(maxInterval, interval * 2);
+        } else if (interval > minInterval && ++healthyWindows >= RECOVER_WINDOWS) {
+            healthyWindows = 0;
+            interval = Math.max(minInterval, interval / 2);
+        }
+        return interval != previous;
+    }
+
+    /**
+     * Get the current update interval in ticks.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Get the MSPT of the last sample.
+     */
+    public double getMspt() {
+        return mspt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.ultikits.plugins.sidebar.service;
+
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything the update task keeps for one player with a visible sidebar.
+ * <p>
+ * One instance per active player, stored in a single map and referenced
+ * directly from the update buckets, the tick-budget backlog and the dirty
+ * queue, so the update path never looks a player up again. The board owns
+ * the scoreboard, objective, teams, title and last rendered lines.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class PlayerSidebar {
+
+    private final Player player;
+    private final SideBarBoard board;
+
+    // Lines marked dirty by events (bit i = line i), written from any thread
+    private final AtomicLong dirtyLines = new AtomicLong();
+
+    // Dirty lines whose placeholder-ttl values must be bypassed on refresh
+    private final AtomicLong staleLines = new AtomicLong();
+
+    // Waiting in the tick-budget backlog (main thread only)
+    private boolean deferred;
+
+    // Update tick this sidebar was last drained from the backlog (main thread only)
+    private long drainedTick = -1;
+
+    // Cleared when the sidebar is removed, so queued references are skipped
+    private volatile boolean active = true;
+
+    public PlayerSidebar(Player player, SideBarBoard board) {
+        this.player = player;
+        this.board = board;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public SideBarBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Add lines to the dirty mask.
+     *
+     * @return {@code true} if no lines were dirty before, i.e. the caller
+     *         must queue this sidebar for a refresh
+     */
+    public boolean markDirty(long lineMask) {
+        long previous;
+        do {
+            previous = dirtyLines.get();
+        } while (!dirtyLines.compareAndSet(previous, previous | lineMask));
+        return previous == 0;
+    }
+
+    /**
+     * Take and clear the dirty mask.
+     */
+    public long takeDirty() {
+        return dirtyLines.getAndSet(0);
+    }
+
+    /**
+     * Mark lines whose cached placeholder values are outdated; call before
+     * {@link #markDirty(long)} so the refresh sees it.
+     */
+    public void markStale(long lineMask) {
+        long previous;
+        do {
+            previous = staleLines.get();
+        } while (!staleLines.compareAndSet(previous, previous | lineMask));
+    }
+
+    /**
+     * Take and clear the stale mask.
+     */
+    public long takeStale() {
+        return staleLines.getAndSet(0);
+    }
+
+    public boolean isDeferred() {
+        return deferred;
+    }
+
+    public void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    public long getDrainedTick() {
+        return drainedTick;
+    }
+
+    public void setDrainedTick(long drainedTick) {
+        this.drainedTick = drainedTick;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void deactivate() {
+        active = false;
+    }
+}
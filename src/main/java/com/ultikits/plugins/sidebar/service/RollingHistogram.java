@@ -0,0 +1,78 @@
+package com.ultikits.plugins.sidebar.service;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size window of the most recent samples with percentile queries.
+ * <p>
+ * Recording is a single array write; percentiles sort a copy of the window
+ * and are only meant for on-demand reporting.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class RollingHistogram {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    /**
+     * @param capacity number of most recent samples kept
+     */
+    public RollingHistogram(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Take a sorted copy of the current window.
+     */
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted);
+    }
+
+    /**
+     * Immutable, sorted view of a histogram window.
+     */
+    public static class Snapshot {
+
+        private final long[] sorted;
+
+        Snapshot(long[] sorted) {
+            this.sorted = sorted;
+        }
+
+        public int size() {
+            return sorted.length;
+        }
+
+        /**
+         * Get a percentile using the nearest-rank method.
+         *
+         * @param percentile between 0 and 100
+         * @return the value, or 0 if there are no samples
+         */
+        public long percentile(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+        }
+
+        public long max() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+    }
+}
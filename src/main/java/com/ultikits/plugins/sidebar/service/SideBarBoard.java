@@ -0,0 +1,299 @@
+package com.ultikits.plugins.sidebar.service;
+
+import com.ultikits.plugins.sidebar.template.LineTemplate;
+import com.ultikits.plugins.sidebar.template.SideBarLayout;
+
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A single player's sidebar rendered through fixed team entries.
+ * <p>
+ * Every line index is bound once to an invisible entry on its own team. The
+ * visible text lives in the team prefix/suffix, so a changed line only
+ * rewrites that team instead of resetting and re-adding every score.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class SideBarBoard {
+
+    public static final String OBJECTIVE_NAME = "sidebar";
+
+    private static final String TEAM_PREFIX = "usb_line_";
+
+    // Team prefix/suffix limit on 1.13+ servers
+    private static final int MAX_PART_LENGTH = 64;
+
+    // Invisible, unique entry of every line slot, built once
+    private static final String[] ENTRIES = new String[SideBarLayout.MAX_LINES];
+
+    static {
+        for (int i = 0; i < ENTRIES.length; i++) {
+            ENTRIES[i] = ChatColor.values()[i].toString() + ChatColor.RESET;
+        }
+    }
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+
+    // Per-line slots, the first lineCount entries are in use
+    private final Team[] teams = new Team[SideBarLayout.MAX_LINES];
+    private final String[] rendered = new String[SideBarLayout.MAX_LINES];
+    private final String[] prefixes = new String[SideBarLayout.MAX_LINES];
+    private final String[] suffixes = new String[SideBarLayout.MAX_LINES];
+
+    // Update tick each line was last resolved on
+    private final long[] refreshedAt = new long[SideBarLayout.MAX_LINES];
+
+    private int lineCount;
+
+    // Last resolved placeholder values of the bound layout, per line and for the title
+    private String[][] lineValues = new String[0][];
+    private String[] titleValues = new String[0];
+
+    private String title;
+
+    // Layout whose static lines are currently written to this board
+    private SideBarLayout boundLayout;
+
+    /**
+     * Register the sidebar objective on the given scoreboard.
+     *
+     * @param scoreboard the scoreboard owned by this board
+     * @param title      the initial, already translated title
+     */
+    public SideBarBoard(Scoreboard scoreboard, String title) {
+        this.scoreboard = scoreboard;
+        this.title = title;
+        this.objective = scoreboard.registerNewObjective(OBJECTIVE_NAME, "dummy", title);
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    /**
+     * Update the objective title if it changed.
+     *
+     * @param newTitle the translated title
+     * @return number of scoreboard mutations issued
+     */
+    public int setTitle(String newTitle) {
+        if (newTitle.equals(title)) {
+            return 0;
+        }
+        title = newTitle;
+        try {
+            objective.setDisplayName(newTitle);
+        } catch (Exception ignored) {
+            // Ignore title too long errors
+        }
+        return 1;
+    }
+
+    /**
+     * Bind a compiled layout to this board.
+     * <p>
+     * Sizes the line slots and writes the static title and static lines once.
+     * Does nothing if the layout is already bound, so static lines are never
+     * re-rendered or re-diffed until the layout changes.
+     * </p>
+     *
+     * @param layout the compiled layout
+     * @return number of scoreboard mutations issued
+     */
+    public int bind(SideBarLayout layout) {
+        if (layout == boundLayout) {
+            return 0;
+        }
+        boundLayout = layout;
+
+        List<LineTemplate> lines = layout.getLines();
+        titleValues = new String[layout.getTitle().getTokens().length];
+        lineValues = new String[lines.size()][];
+        for (int i = 0; i < lines.size(); i++) {
+            lineValues[i] = new String[lines.get(i).getTokens().length];
+        }
+
+        int mutations = setLineCount(lines.size());
+        if (layout.getTitle().isStatic()) {
+            mutations += setTitle(layout.getTitle().getStaticText());
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).isStatic()) {
+                mutations += setLine(i, lines.get(i).getStaticText());
+            }
+        }
+        return mutations;
+    }
+
+    /**
+     * Set the text of a single line if it changed.
+     *
+     * @param index line index, top to bottom
+     * @param text  translated line text
+     * @return number of scoreboard mutations issued
+     */
+    public int setLine(int index, String text) {
+        if (text.equals(rendered[index])) {
+            return 0;
+        }
+        rendered[index] = text;
+        return applyText(index, text);
+    }
+
+    /**
+     * Add or remove line slots so the board shows exactly {@code size} lines,
+     * at most {@link SideBarLayout#MAX_LINES}.
+     *
+     * @param size the number of lines
+     * @return number of scoreboard mutations issued
+     */
+    public int setLineCount(int size) {
+        size = Math.min(size, SideBarLayout.MAX_LINES);
+        if (size == lineCount) {
+            return 0;
+        }
+        return resize(size);
+    }
+
+    /**
+     * Forget the rendered state so the next update rewrites every line.
+     */
+    public void invalidate() {
+        Arrays.fill(rendered, 0, lineCount, null);
+        title = null;
+        boundLayout = null;
+    }
+
+    /**
+     * Get the number of line slots currently bound.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Get the last rendered text of a line.
+     */
+    public String getLine(int index) {
+        return rendered[index];
+    }
+
+    /**
+     * Get the last resolved placeholder values of a line of the bound layout.
+     * The array is reused across updates and reallocated only on bind.
+     */
+    public String[] getLineValues(int index) {
+        return lineValues[index];
+    }
+
+    /**
+     * Get the last resolved placeholder values of the bound layout's title.
+     */
+    public String[] getTitleValues() {
+        return titleValues;
+    }
+
+    /**
+     * Check whether a line must be resolved again.
+     *
+     * @param index    line index
+     * @param tick     current update tick
+     * @param interval minimum ticks between resolves, 0 for always
+     */
+    public boolean isDue(int index, long tick, int interval) {
+        return interval <= 0 || rendered[index] == null || tick - refreshedAt[index] >= interval;
+    }
+
+    /**
+     * Remember the update tick a line was resolved on.
+     */
+    public void markRefreshed(int index, long tick) {
+        refreshedAt[index] = tick;
+    }
+
+    private int resize(int size) {
+        int mutations = 0;
+        while (lineCount > size) {
+            int last = --lineCount;
+            scoreboard.resetScores(entryFor(last));
+            teams[last].unregister();
+            teams[last] = null;
+            rendered[last] = null;
+            mutations += 2;
+        }
+        while (lineCount < size) {
+            int index = lineCount++;
+            Team team = scoreboard.getTeam(TEAM_PREFIX + index);
+            if (team == null) {
+                team = scoreboard.registerNewTeam(TEAM_PREFIX + index);
+            }
+            team.addEntry(entryFor(index));
+            teams[index] = team;
+            rendered[index] = null;
+            prefixes[index] = "";
+            suffixes[index] = "";
+            refreshedAt[index] = 0;
+            mutations += 2;
+        }
+
+        // Scores are positional, so every slot moves when the size changes
+        for (int i = 0; i < size; i++) {
+            objective.getScore(entryFor(i)).setScore(size - i);
+            mutations++;
+        }
+        return mutations;
+    }
+
+    private int applyText(int index, String text) {
+        String prefix;
+        String suffix;
+        if (text.length() <= MAX_PART_LENGTH) {
+            prefix = text;
+            suffix = "";
+        } else {
+            int cut = MAX_PART_LENGTH;
+            // Never split a color code between prefix and suffix
+            if (text.charAt(cut - 1) == ChatColor.COLOR_CHAR) {
+                cut--;
+            }
+            prefix = text.substring(0, cut);
+            suffix = ChatColor.getLastColors(prefix) + text.substring(cut);
+            if (suffix.length() > MAX_PART_LENGTH) {
+                suffix = suffix.substring(0, MAX_PART_LENGTH);
+            }
+        }
+
+        int mutations = 0;
+        Team team = teams[index];
+        if (!prefix.equals(prefixes[index])) {
+            team.setPrefix(prefix);
+            prefixes[index] = prefix;
+            mutations++;
+        }
+        if (!suffix.equals(suffixes[index])) {
+            team.setSuffix(suffix);
+            suffixes[index] = suffix;
+            mutations++;
+        }
+        return mutations;
+    }
+
+    /**
+     * Invisible, unique entry for a line index: a color code followed by a reset.
+     * The entry of a slot never changes, whatever the line shows.
+     */
+    static String entryFor(int index) {
+        return ENTRIES[index];
+    }
+}
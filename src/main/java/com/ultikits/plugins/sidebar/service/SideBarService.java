@@ -2,12 +2,25 @@ package com.ultikits.plugins.sidebar.service;
 
 import com.ultikits.plugins.sidebar.config.SideBarConfig;
 import com.ultikits.plugins.sidebar.data.SideBarPreference;
+import com.ultikits.plugins.sidebar.listener.ExpansionBindingListener;
+import com.ultikits.plugins.sidebar.listener.RefreshEventListener;
+import com.ultikits.plugins.sidebar.template.AsyncPlaceholderResolver;
+import com.ultikits.plugins.sidebar.template.LineTemplate;
+import com.ultikits.plugins.sidebar.template.PlaceholderCache;
+import com.ultikits.plugins.sidebar.template.PlaceholderGuard;
+import com.ultikits.plugins.sidebar.template.PlaceholderResolver;
+import com.ultikits.plugins.sidebar.template.PlaceholderScope;
+import com.ultikits.plugins.sidebar.template.PlaceholderToken;
+import com.ultikits.plugins.sidebar.template.ScopedPlaceholderResolver;
+import com.ultikits.plugins.sidebar.template.SideBarLayout;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.Autowired;
 import com.ultikits.ultitools.annotations.Service;
 import com.ultikits.ultitools.interfaces.DataOperator;
 
 import me.clip.placeholderapi.PlaceholderAPI;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -17,6 +30,9 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * Service for managing player sidebars.
@@ -27,23 +43,91 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class SideBarService {
     
+    // Maximum number of UUIDs per bulk preference query
+    private static final int PRELOAD_BATCH_SIZE = 100;
+    
+    /**
+     * Line mask selecting every line, and the title.
+     */
+    public static final long ALL_LINES = -1L;
+    
     @Autowired
     private UltiToolsPlugin plugin;
 
     @Autowired
     private SideBarConfig config;
     
-    // Track player scoreboard state
-    private final Map<UUID, Scoreboard> playerScoreboards = new ConcurrentHashMap<>();
+    // State of every player with a visible sidebar; the only per-player map on the update path
+    private final Map<UUID, PlayerSidebar> sidebars = new ConcurrentHashMap<>();
+    
+    // Title and lines compiled from the config (rebuilt on config change)
+    private volatile SideBarLayout layout;
     
-    // Content cache for performance optimization (avoid unnecessary scoreboard updates)
-    private final Map<UUID, List<String>> contentCache = new ConcurrentHashMap<>();
+    // Performs the actual placeholder lookup (replaced with stubs in tests and benchmarks)
+    private PlaceholderResolver placeholderSource = this::resolvePlaceholder;
+    
+    // Times every expansion call and cuts off slow or failing placeholders
+    private final PlaceholderGuard placeholderGuard = new PlaceholderGuard(
+        (player, token) -> placeholderSource.resolve(player, token), System::nanoTime, this::onPlaceholderTripped);
+    
+    // Reuses values of placeholders with a placeholder-ttl; sized from the config on init
+    private final PlaceholderCache placeholderCache = new PlaceholderCache(
+        placeholderGuard, System::nanoTime, 10000);
+    
+    // Resolves async-placeholders on worker threads, null until init
+    private AsyncPlaceholderResolver asyncResolver;
+    
+    // Shares server/world scoped placeholder values within an update cycle
+    private final ScopedPlaceholderResolver resolver =
+        new ScopedPlaceholderResolver(this::resolveToken);
     
     // Data operator for persistent storage
     private DataOperator<SideBarPreference> dataOperator;
     
+    // Player preferences, loaded once per player and served from memory
+    private final Map<UUID, SideBarPreference> preferences = new ConcurrentHashMap<>();
+    
+    // Preference changes waiting to be written (write-behind, one entry per player)
+    private final Map<UUID, SideBarPreference> pendingWrites = new ConcurrentHashMap<>();
+    
     // Update task
     private BukkitTask updateTask;
+    
+    // Async task flushing queued preference writes
+    private BukkitTask saveTask;
+    
+    // Active sidebars, spread across the ticks of the update interval
+    private UpdateBuckets<PlayerSidebar> updateBuckets = new UpdateBuckets<>(1);
+    
+    // Ticks since the update task started
+    private long updateTick;
+    
+    // Stretches the update interval under load, null when adaptive-interval is off
+    private AdaptiveInterval adaptiveInterval;
+    
+    // Sidebars with lines marked dirty by events, refreshed on the next tick
+    private final Queue<PlayerSidebar> dirtySidebars = new ConcurrentLinkedQueue<>();
+    
+    // Listener marking lines dirty for the configured refresh events
+    private RefreshEventListener refreshEventListener;
+    
+    // Binds layout placeholders to their expansions, null without PlaceholderAPI
+    private ExpansionBindingListener expansionBinding;
+    
+    // Board shown to every player while the layout is player independent, null otherwise
+    private SideBarBoard sharedBoard;
+    
+    // Players attached to the shared board; updated once per cycle through any one of them
+    private final Set<PlayerSidebar> sharedViewers = ConcurrentHashMap.newKeySet();
+    
+    // Sidebars whose update did not fit in the tick budget, oldest first (main thread only)
+    private final Deque<PlayerSidebar> backlog = new ArrayDeque<>();
+    
+    // Update task timing and counters, reported by /sidebar stats
+    private final SideBarStats stats = new SideBarStats();
+    
+    // Current time in nanoseconds for the tick budget and cycle timing (replaced in tests)
+    private LongSupplier clock = System::nanoTime;
 
     // Bukkit plugin instance for scheduler calls
     private Plugin bukkitPlugin;
@@ -65,22 +149,121 @@ public class SideBarService {
             plugin.getLogger().warn("PlaceholderAPI not found! Variables will not work.");
         }
         
+        layout = compileLayout();
+        applyPlaceholderSettings();
+        
         // Register config change listener
-        config.addChangeListener(cfg -> {
-            clearCache();
-            refreshAllSidebars();
-        });
+        config.addChangeListener(cfg -> onConfigChanged());
         
         startUpdateTask();
         
+        registerRefreshEvents();
+        
+        if (placeholderApiAvailable) {
+            expansionBinding = new ExpansionBindingListener(
+                () -> getLayout().getTokens(), SideBarService::findExpansion, this::onExpansionChanged);
+            expansionBinding.bindAll();
+            Bukkit.getPluginManager().registerEvents(expansionBinding, bukkitPlugin);
+        }
+        
+        scheduleSaveTask();
+        
         // Initialize for online players
+        preloadPreferences(Bukkit.getOnlinePlayers());
         for (Player player : Bukkit.getOnlinePlayers()) {
-            if (config.isDefaultEnabled() && isSidebarEnabledInDatabase(player.getUniqueId())) {
-                enableSidebar(player);
+            if (config.isDefaultEnabled() && isPreferenceEnabled(player.getUniqueId())) {
+                showSidebar(player);
             }
         }
     }
     
+    /**
+     * Apply a changed config file without a full reload.
+     * <p>
+     * Recompiles the layout and re-applies every tuning setting, so a new
+     * update-interval, adaptive-interval, cache size, breaker threshold,
+     * async pool size, save-interval or refresh-events list takes effect
+     * right away.
+     * </p>
+     */
+    private void onConfigChanged() {
+        layout = compileLayout();
+        if (expansionBinding != null) {
+            expansionBinding.bindAll();
+        }
+        resolver.clear();
+        placeholderCache.clear();
+        placeholderGuard.clear();
+        applyPlaceholderSettings();
+        if (updateTask != null) {
+            // Players keep their sidebar; they are only moved to new buckets
+            updateBuckets = updateBuckets.resize(config.getUpdateInterval());
+            adaptiveInterval = createAdaptiveInterval();
+            stats.recordInterval(updateBuckets.getBucketCount(), -1);
+        }
+        if (saveTask != null) {
+            scheduleSaveTask();
+        }
+        if (refreshEventListener != null) {
+            // Line numbers may have moved, so the bindings are parsed again
+            registerRefreshEvents();
+        }
+        // Players are re-attached below, to a new shared board if the layout still allows it
+        sharedBoard = null;
+        clearCache();
+        refreshAllSidebars();
+    }
+    
+    /**
+     * Size the placeholder cache, breaker and async pool from the config.
+     * The async pool is replaced, dropping its fetched values.
+     */
+    private void applyPlaceholderSettings() {
+        placeholderCache.setMaxEntries(config.getPlaceholderCacheSize());
+        placeholderGuard.configure(config.getPlaceholderSlowThreshold(), config.getPlaceholderBreakerFailures(),
+            config.getPlaceholderBreakerCooldown(), config.getPlaceholderFallback());
+        AsyncPlaceholderResolver previous = asyncResolver;
+        asyncResolver = new AsyncPlaceholderResolver(
+            placeholderCache,
+            this::onAsyncValueChanged,
+            config.getAsyncThreads(), config.getAsyncQueueSize());
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+    
+    /**
+     * (Re)register the refresh-events listener from the config.
+     */
+    private void registerRefreshEvents() {
+        if (refreshEventListener != null) {
+            refreshEventListener.unregister();
+        }
+        refreshEventListener = RefreshEventListener.parse(this, config.getRefreshEvents(), plugin.getLogger()::warn);
+        refreshEventListener.register(bukkitPlugin, plugin.getLogger()::warn);
+    }
+    
+    /**
+     * (Re)start the async timer flushing queued preference writes.
+     */
+    private void scheduleSaveTask() {
+        if (saveTask != null) {
+            saveTask.cancel();
+        }
+        saveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(
+            bukkitPlugin,
+            this::flushPreferences,
+            config.getSaveInterval(), config.getSaveInterval()
+        );
+    }
+    
+    private AdaptiveInterval createAdaptiveInterval() {
+        return config.isAdaptiveInterval()
+            ? new AdaptiveInterval(config.getUpdateInterval(), config.getMaxUpdateInterval(),
+                config.getMsptThreshold(), AdaptiveInterval.serverMspt())
+            : null;
+    }
+    
     /**
      * Shutdown the service.
      */
@@ -89,14 +272,38 @@ public class SideBarService {
             updateTask.cancel();
             updateTask = null;
         }
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        if (refreshEventListener != null) {
+            refreshEventListener.unregister();
+            refreshEventListener = null;
+        }
+        if (expansionBinding != null) {
+            expansionBinding.unregister();
+            expansionBinding = null;
+        }
+        if (asyncResolver != null) {
+            asyncResolver.shutdown();
+            asyncResolver = null;
+        }
         
         // Remove all scoreboards
         for (Player player : Bukkit.getOnlinePlayers()) {
             removeSidebar(player);
         }
         
-        playerScoreboards.clear();
-        contentCache.clear();
+        sidebars.clear();
+        sharedViewers.clear();
+        sharedBoard = null;
+        placeholderCache.clear();
+        placeholderGuard.clear();
+        updateBuckets.clear();
+        backlog.clear();
+        dirtySidebars.clear();
+        flushPreferences();
+        preferences.clear();
     }
     
     /**
@@ -111,49 +318,192 @@ public class SideBarService {
      * Clear content cache (called on config reload).
      */
     public void clearCache() {
-        contentCache.clear();
+        for (PlayerSidebar sidebar : sidebars.values()) {
+            sidebar.getBoard().invalidate();
+        }
     }
     
     /**
      * Refresh all online players' sidebars.
+     * <p>
+     * Also drops sidebars the new config no longer allows, so the active set
+     * stays in sync with the config.
+     * </p>
      */
     private void refreshAllSidebars() {
         for (Player player : Bukkit.getOnlinePlayers()) {
             if (isSidebarEnabled(player)) {
                 removeSidebar(player);
-                enableSidebar(player);
+                showSidebar(player);
+            } else if (sidebars.containsKey(player.getUniqueId())) {
+                removeSidebar(player);
             }
         }
     }
     
     /**
      * Start the update task.
+     * <p>
+     * The task runs every tick and updates one bucket of players, so every
+     * player is still refreshed once per {@code update-interval}.
+     * </p>
      */
     private void startUpdateTask() {
         if (!config.isEnabled()) {
             return;
         }
         
+        UpdateBuckets<PlayerSidebar> buckets = new UpdateBuckets<>(config.getUpdateInterval());
+        for (Map.Entry<UUID, PlayerSidebar> entry : sidebars.entrySet()) {
+            if (entry.getValue().getBoard() != sharedBoard) {
+                buckets.add(entry.getKey(), entry.getValue());
+            }
+        }
+        updateBuckets = buckets;
+        updateTick = 0;
+        adaptiveInterval = createAdaptiveInterval();
+        stats.recordInterval(buckets.getBucketCount(), -1);
+        
         updateTask = Bukkit.getScheduler().runTaskTimer(
             bukkitPlugin,
-            this::updateAllSidebars,
-            0L, config.getUpdateInterval()
+            this::updateDueSidebars,
+            0L, 1L
         );
     }
     
     /**
-     * Update all player sidebars.
+     * Update the sidebars of the players whose bucket is due this tick.
+     * <p>
+     * Stops once the per-tick budget is spent; the remaining players are
+     * deferred and go first on the next tick, so nobody is starved.
+     * </p>
+     * <p>
+     * Only active players are in the buckets, so nobody is re-checked for
+     * preference or world blacklist here; see {@link #showSidebar(Player)}
+     * and {@link #removeSidebar(Player)}.
+     * </p>
      */
-    private void updateAllSidebars() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (isSidebarEnabled(player)) {
-                updateSidebar(player);
+    private void updateDueSidebars() {
+        long start = clock.getAsLong();
+        long budget = TimeUnit.MILLISECONDS.toNanos(config.getTickBudget());
+        long deadline = budget > 0 ? start + budget : Long.MAX_VALUE;
+        if (adaptiveInterval != null) {
+            adaptInterval(start);
+        }
+        long tick = updateTick++;
+        int processed = 0;
+        if (tick % updateBuckets.getBucketCount() == 0) {
+            resolver.nextCycle();
+            processed += updateSharedSidebar();
+        }
+        
+        // Event refreshes first; they are not deferred but count against the budget
+        if (!dirtySidebars.isEmpty()) {
+            // Server and world values shared this cycle may predate the event
+            resolver.nextCycle();
+            processed += refreshDirtyLines();
+        }
+        boolean exhausted = false;
+        
+        // Sidebars deferred from earlier ticks, oldest first
+        while (!exhausted && !backlog.isEmpty()) {
+            PlayerSidebar sidebar = backlog.poll();
+            sidebar.setDeferred(false);
+            if (sidebar.isActive()) {
+                updateSidebar(sidebar);
+                sidebar.setDrainedTick(tick);
+                processed++;
+                exhausted = clock.getAsLong() >= deadline;
             }
         }
+        
+        int deferred = 0;
+        for (PlayerSidebar sidebar : updateBuckets.due(tick)) {
+            if (sidebar.getDrainedTick() == tick) {
+                // Already updated from the backlog this tick
+                continue;
+            }
+            if (exhausted) {
+                if (!sidebar.isDeferred()) {
+                    sidebar.setDeferred(true);
+                    backlog.add(sidebar);
+                    deferred++;
+                }
+                continue;
+            }
+            updateSidebar(sidebar);
+            processed++;
+            exhausted = clock.getAsLong() >= deadline;
+        }
+        stats.recordCycle(clock.getAsLong() - start, processed);
+        stats.recordDeferred(deferred, backlog.size());
+    }
+    
+    /**
+     * Update the shared board once for all of its viewers.
+     *
+     * @return 1 if the board was updated, 0 if nobody views it
+     */
+    private int updateSharedSidebar() {
+        for (PlayerSidebar viewer : sharedViewers) {
+            // Server scoped placeholders only, so any viewer resolves them for everyone
+            updateSidebar(viewer);
+            return 1;
+        }
+        return 0;
     }
     
     /**
-     * Enable sidebar for player.
+     * Refresh the lines marked dirty since the last tick.
+     *
+     * @return number of players refreshed
+     */
+    private int refreshDirtyLines() {
+        int refreshed = 0;
+        long sharedMask = 0;
+        long sharedStale = 0;
+        PlayerSidebar sharedViewer = null;
+        PlayerSidebar sidebar;
+        while ((sidebar = dirtySidebars.poll()) != null) {
+            long mask = sidebar.takeDirty();
+            long stale = sidebar.takeStale();
+            if (mask == 0 || !sidebar.isActive()) {
+                continue;
+            }
+            if (sidebar.getBoard() == sharedBoard) {
+                // Merge marks of every viewer into a single refresh of the shared board
+                sharedMask |= mask;
+                sharedStale |= stale;
+                sharedViewer = sidebar;
+                continue;
+            }
+            refreshLines(sidebar, mask, stale);
+            refreshed++;
+        }
+        if (sharedViewer != null) {
+            refreshLines(sharedViewer, sharedMask, sharedStale);
+            refreshed++;
+        }
+        stats.recordDirtyRefreshes(refreshed);
+        return refreshed;
+    }
+    
+    /**
+     * Feed the adaptive interval and redistribute players when it changes.
+     */
+    private void adaptInterval(long now) {
+        if (adaptiveInterval.tick(now)) {
+            updateBuckets = updateBuckets.resize(adaptiveInterval.getInterval());
+        }
+        stats.recordInterval(updateBuckets.getBucketCount(), adaptiveInterval.getMspt());
+    }
+    
+    /**
+     * Enable sidebar for player and persist the preference.
+     * <p>
+     * Only explicit player commands should call this; internal refreshes use
+     * {@link #showSidebar(Player)} so they never write to the database.
+     * </p>
      */
     public void enableSidebar(Player player) {
         if (!config.isEnabled()) {
@@ -161,30 +511,89 @@ public class SideBarService {
         }
         
         // Update database
-        setSidebarEnabledInDatabase(player.getUniqueId(), true);
+        savePreference(player.getUniqueId(), true);
+        
+        showSidebar(player);
+    }
+    
+    /**
+     * Show the sidebar to a player without touching their stored preference.
+     */
+    public void showSidebar(Player player) {
+        if (!config.isEnabled() || !player.isOnline()) {
+            return;
+        }
         
         // Check world blacklist
         if (config.getWorldBlacklist().contains(player.getWorld().getName())) {
             return;
         }
         
-        // Create scoreboard
-        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
-        Objective objective = scoreboard.registerNewObjective("sidebar", "dummy", 
-            ChatColor.translateAlternateColorCodes('&', config.getTitle()));
-        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        // Player independent layouts share one scoreboard that is already up to date
+        if (getLayout().isPlayerIndependent()) {
+            boolean created = sharedBoard == null;
+            if (created) {
+                sharedBoard = createBoard();
+            }
+            PlayerSidebar sidebar = attach(player, sharedBoard);
+            player.setScoreboard(sharedBoard.getScoreboard());
+            if (created) {
+                updateSidebar(sidebar);
+            }
+            return;
+        }
         
-        playerScoreboards.put(player.getUniqueId(), scoreboard);
-        player.setScoreboard(scoreboard);
+        SideBarBoard board = createBoard();
+        PlayerSidebar sidebar = attach(player, board);
+        player.setScoreboard(board.getScoreboard());
         
-        updateSidebar(player);
+        updateSidebar(sidebar);
+    }
+    
+    private SideBarBoard createBoard() {
+        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        return new SideBarBoard(scoreboard, ChatColor.translateAlternateColorCodes('&', config.getTitle()));
+    }
+    
+    /**
+     * Register a player's board as active, replacing any previous one.
+     * Viewers of the shared board are not bucketed; the board is updated once
+     * per cycle instead.
+     *
+     * @return the new sidebar, or null if the player already left
+     */
+    PlayerSidebar attach(Player player, SideBarBoard board) {
+        // A sidebar attached after quit would stay in the update loop until the player rejoins
+        if (!player.isOnline()) {
+            return null;
+        }
+        PlayerSidebar sidebar = new PlayerSidebar(player, board);
+        detach(sidebars.put(player.getUniqueId(), sidebar));
+        if (board == sharedBoard) {
+            sharedViewers.add(sidebar);
+        } else {
+            updateBuckets.add(player.getUniqueId(), sidebar);
+        }
+        return sidebar;
+    }
+    
+    /**
+     * Drop a player's sidebar state; queued references to it are skipped.
+     */
+    private void detach(PlayerSidebar sidebar) {
+        if (sidebar != null) {
+            sidebar.deactivate();
+            if (!sharedViewers.remove(sidebar)) {
+                updateBuckets.remove(sidebar.getPlayer().getUniqueId());
+            }
+        }
     }
     
     /**
      * Disable sidebar for player.
      */
     public void disableSidebar(Player player) {
-        setSidebarEnabledInDatabase(player.getUniqueId(), false);
+        savePreference(player.getUniqueId(), false);
         removeSidebar(player);
     }
     
@@ -192,8 +601,7 @@ public class SideBarService {
      * Remove sidebar from player.
      */
     public void removeSidebar(Player player) {
-        playerScoreboards.remove(player.getUniqueId());
-        contentCache.remove(player.getUniqueId());
+        detach(sidebars.remove(player.getUniqueId()));
         
         // Reset to main scoreboard
         if (Bukkit.getScoreboardManager() != null) {
@@ -206,46 +614,116 @@ public class SideBarService {
      */
     public boolean isSidebarEnabled(Player player) {
         return config.isEnabled() && 
-               isSidebarEnabledInDatabase(player.getUniqueId()) &&
+               isPreferenceEnabled(player.getUniqueId()) &&
                !config.getWorldBlacklist().contains(player.getWorld().getName());
     }
     
     /**
-     * Check if sidebar is enabled in database for player.
-     * Returns true if not found (default enabled based on config).
+     * Check if sidebar is enabled in the player's preference.
+     * Returns the config default if the player has no preference.
      */
-    private boolean isSidebarEnabledInDatabase(UUID playerUuid) {
+    private boolean isPreferenceEnabled(UUID playerUuid) {
+        Boolean enabled = getPreference(playerUuid).getEnabled();
+        return enabled != null ? enabled : config.isDefaultEnabled();
+    }
+    
+    /**
+     * Get the cached preference of a player, loading it on first access.
+     * <p>
+     * Players without a stored row get an unsaved preference with a null
+     * id and a null enabled flag.
+     * </p>
+     */
+    private SideBarPreference getPreference(UUID playerUuid) {
+        SideBarPreference pref = preferences.get(playerUuid);
+        if (pref != null) {
+            return pref;
+        }
+        // Query outside the map, so a slow database never holds a map lock the main thread waits on
+        SideBarPreference loaded = loadPreference(playerUuid);
+        SideBarPreference raced = preferences.putIfAbsent(playerUuid, loaded);
+        return raced != null ? raced : loaded;
+    }
+    
+    /**
+     * Load a player's preference from the database, or the queued change if
+     * it has not been flushed yet.
+     */
+    private SideBarPreference loadPreference(UUID playerUuid) {
+        // The row is stale while a write is pending, e.g. after a toggle, quit and quick rejoin
+        SideBarPreference pending = pendingWrites.get(playerUuid);
+        if (pending != null) {
+            return pending;
+        }
         List<SideBarPreference> prefs = dataOperator.query()
             .where("player_uuid")
             .eq(playerUuid.toString())
             .list();
 
         if (prefs.isEmpty()) {
-            return config.isDefaultEnabled();
+            return new SideBarPreference(playerUuid.toString(), null);
         }
-
-        Boolean enabled = prefs.get(0).getEnabled();
-        return enabled != null ? enabled : config.isDefaultEnabled();
+        return prefs.get(0);
     }
     
     /**
-     * Set sidebar enabled state in database.
+     * Set sidebar enabled state in the cache and queue it for writing.
+     * Does nothing if the stored or queued state is already the same.
      */
-    private void setSidebarEnabledInDatabase(UUID playerUuid, boolean enabled) {
-        List<SideBarPreference> existing = dataOperator.query()
-            .where("player_uuid")
-            .eq(playerUuid.toString())
-            .list();
+    private void savePreference(UUID playerUuid, boolean enabled) {
+        SideBarPreference pref = getPreference(playerUuid);
+        boolean stored = pref.getId() != null || pendingWrites.containsKey(playerUuid);
+        if (stored && Boolean.valueOf(enabled).equals(pref.getEnabled())) {
+            return;
+        }
+        pref.setEnabled(enabled);
+        
+        // Repeated changes coalesce into a single write of the latest state
+        pendingWrites.put(playerUuid, pref);
+    }
+    
+    /**
+     * Write all queued preference changes to the database.
+     * <p>
+     * Runs on an async timer every {@code save-interval} ticks and once more
+     * on shutdown. Failed writes are re-queued for the next flush.
+     * </p>
+     */
+    public void flushPreferences() {
+        for (UUID playerUuid : pendingWrites.keySet()) {
+            SideBarPreference pref = pendingWrites.remove(playerUuid);
+            if (pref == null) {
+                continue;
+            }
+            try {
+                writePreference(pref);
+            } catch (Exception e) {
+                pendingWrites.putIfAbsent(playerUuid, pref);
+                plugin.getLogger().warn("Failed to save sidebar preference for " + playerUuid + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Insert or update a preference row.
+     */
+    private void writePreference(SideBarPreference pref) {
+        if (pref.getId() == null) {
+            List<SideBarPreference> existing = dataOperator.query()
+                .where("player_uuid")
+                .eq(pref.getPlayerUuid())
+                .list();
 
-        if (existing.isEmpty()) {
-            // Insert new record
-            SideBarPreference pref = new SideBarPreference(playerUuid.toString(), enabled);
-            dataOperator.insert(pref);
-        } else {
-            // Update existing record
-            SideBarPreference pref = existing.get(0);
-            dataOperator.update("enabled", enabled, pref.getId());
+            if (existing.isEmpty()) {
+                // Insert new record
+                dataOperator.insert(pref);
+                return;
+            }
+            pref.setId(existing.get(0).getId());
         }
+
+        // Update existing record
+        dataOperator.update("enabled", pref.getEnabled(), pref.getId());
     }
     
     /**
@@ -254,7 +732,7 @@ public class SideBarService {
      * @return true if now enabled
      */
     public boolean toggleSidebar(Player player) {
-        if (isSidebarEnabledInDatabase(player.getUniqueId())) {
+        if (isPreferenceEnabled(player.getUniqueId())) {
             disableSidebar(player);
             return false;
         } else {
@@ -265,103 +743,402 @@ public class SideBarService {
     
     /**
      * Update sidebar for player.
+     * <p>
+     * Static lines are written once when the layout is bound; only lines with
+     * placeholders are resolved, and only changed lines are rewritten.
+     * </p>
      */
     public void updateSidebar(Player player) {
-        Scoreboard scoreboard = playerScoreboards.get(player.getUniqueId());
-        if (scoreboard == null) {
-            return;
-        }
-        
-        Objective objective = scoreboard.getObjective("sidebar");
-        if (objective == null) {
-            return;
+        PlayerSidebar sidebar = sidebars.get(player.getUniqueId());
+        if (sidebar != null) {
+            updateSidebar(sidebar);
         }
+    }
+    
+    private void updateSidebar(PlayerSidebar sidebar) {
+        Player player = sidebar.getPlayer();
+        SideBarBoard board = sidebar.getBoard();
+        SideBarLayout current = getLayout();
+        stats.recordMutations(board.bind(current));
         
         // Update title
-        String title = parsePlaceholders(player, config.getTitle());
-        try {
-            objective.setDisplayName(ChatColor.translateAlternateColorCodes('&', title));
-        } catch (Exception ignored) {
-            // Ignore title too long errors
+        LineTemplate title = current.getTitle();
+        if (!title.isStatic()) {
+            refreshTitle(player, board, title);
         }
         
-        // Get lines
-        List<String> lines = config.getLines();
-        if (lines == null || lines.isEmpty()) {
-            return;
-        }
-        
-        // Parse and build new content
-        List<String> newContent = new ArrayList<>();
-        Set<String> usedEntries = new HashSet<>();
-        
-        for (String line : lines) {
-            String parsed = parsePlaceholders(player, line);
-            parsed = ChatColor.translateAlternateColorCodes('&', parsed);
-            
-            // Ensure unique entry (add invisible chars if duplicate)
-            String uniqueParsed = parsed;
-            while (usedEntries.contains(uniqueParsed)) {
-                uniqueParsed = uniqueParsed + ChatColor.RESET;
+        // Render only the lines that contain placeholders and are due
+        List<LineTemplate> lines = current.getLines();
+        long tick = updateTick;
+        for (int index : current.getDynamicLines()) {
+            if (!board.isDue(index, tick, current.getRefreshInterval(index))) {
+                stats.recordLineReused();
+                continue;
             }
-            usedEntries.add(uniqueParsed);
-            
-            // Truncate if too long (max 40 chars in older versions)
-            if (uniqueParsed.length() > 40) {
-                uniqueParsed = uniqueParsed.substring(0, 40);
+            refreshLine(player, board, lines.get(index), index, tick);
+        }
+    }
+    
+    /**
+     * Resolve one line and rewrite it if any placeholder value changed.
+     * <p>
+     * The line text is only built when a value changed, so an unchanged line
+     * allocates nothing.
+     * </p>
+     */
+    private void refreshLine(Player player, SideBarBoard board, LineTemplate line, int index, long tick) {
+        board.markRefreshed(index, tick);
+        String[] values = board.getLineValues(index);
+        int mutations = line.resolve(player, resolver, values)
+            ? board.setLine(index, line.build(values))
+            : 0;
+        stats.recordLine(mutations);
+    }
+    
+    private void refreshTitle(Player player, SideBarBoard board, LineTemplate title) {
+        String[] values = board.getTitleValues();
+        if (title.resolve(player, resolver, values)) {
+            stats.recordMutations(board.setTitle(title.build(values)));
+        }
+    }
+    
+    /**
+     * Mark every line of a player's sidebar dirty; it is refreshed on the next tick.
+     */
+    public void markDirty(Player player) {
+        markDirty(player.getUniqueId(), ALL_LINES);
+    }
+    
+    /**
+     * Mark lines of a player's sidebar dirty; they are refreshed on the next
+     * tick regardless of the update interval and their refresh interval.
+     *
+     * @param player the player
+     * @param lines  line indexes, starting at 0
+     */
+    public void markDirty(Player player, int... lines) {
+        long mask = 0;
+        for (int line : lines) {
+            if (line >= 0 && line < Long.SIZE) {
+                mask |= 1L << line;
             }
-            
-            newContent.add(uniqueParsed);
         }
-        
-        // Check if content changed (performance optimization)
-        List<String> cachedContent = contentCache.get(player.getUniqueId());
-        if (cachedContent != null && cachedContent.equals(newContent)) {
-            return; // No change, skip update
+        markDirty(player.getUniqueId(), mask);
+    }
+    
+    /**
+     * Mark lines dirty by bit mask. Safe to call from any thread.
+     *
+     * @param uuid     the player's UUID
+     * @param lineMask bit {@code i} selects line {@code i}; {@link #ALL_LINES} also refreshes the title
+     */
+    public void markDirty(UUID uuid, long lineMask) {
+        markDirty(uuid, lineMask, true);
+    }
+    
+    /**
+     * Mark lines dirty for every player with a sidebar.
+     *
+     * @param lineMask bit {@code i} selects line {@code i}
+     */
+    public void markAllDirty(long lineMask) {
+        markAllDirty(lineMask, true);
+    }
+    
+    /**
+     * Mark lines dirty.
+     *
+     * @param stale whether the data behind the lines changed, so their
+     *              placeholder-ttl values are bypassed; false when a refresh
+     *              only picks up a value that is already known
+     */
+    private void markDirty(UUID uuid, long lineMask, boolean stale) {
+        if (lineMask == 0) {
+            return;
         }
+        PlayerSidebar sidebar = sidebars.get(uuid);
+        if (sidebar == null) {
+            return;
+        }
+        if (stale) {
+            sidebar.markStale(lineMask);
+        }
+        if (sidebar.markDirty(lineMask)) {
+            dirtySidebars.add(sidebar);
+        }
+    }
+    
+    private void markAllDirty(long lineMask, boolean stale) {
+        for (UUID uuid : sidebars.keySet()) {
+            markDirty(uuid, lineMask, stale);
+        }
+    }
+    
+    /**
+     * Resolve the given lines of a player's sidebar now.
+     * <p>
+     * Values cached for a placeholder-ttl are expired first on stale lines,
+     * so a line marked by an event never shows a value from before it.
+     * </p>
+     */
+    private void refreshLines(PlayerSidebar sidebar, long lineMask, long staleMask) {
+        Player player = sidebar.getPlayer();
+        SideBarBoard board = sidebar.getBoard();
+        SideBarLayout current = getLayout();
+        stats.recordMutations(board.bind(current));
         
-        // Update cache
-        contentCache.put(player.getUniqueId(), new ArrayList<>(newContent));
-        
-        // Clear old entries
-        for (String entry : new HashSet<>(scoreboard.getEntries())) {
-            scoreboard.resetScores(entry);
+        LineTemplate title = current.getTitle();
+        if (lineMask == ALL_LINES && !title.isStatic()) {
+            if (staleMask == ALL_LINES) {
+                expireCached(player, title);
+            }
+            refreshTitle(player, board, title);
         }
         
-        // Add new entries (reverse order for correct display)
-        int score = newContent.size();
-        for (String entry : newContent) {
-            try {
-                objective.getScore(entry).setScore(score--);
-            } catch (Exception e) {
-                // Ignore invalid entries
+        List<LineTemplate> lines = current.getLines();
+        long tick = updateTick;
+        for (int index : current.getDynamicLines()) {
+            if (index < Long.SIZE && (lineMask & (1L << index)) != 0) {
+                if ((staleMask & (1L << index)) != 0) {
+                    expireCached(player, lines.get(index));
+                }
+                refreshLine(player, board, lines.get(index), index, tick);
             }
         }
     }
     
+    private void expireCached(Player player, LineTemplate line) {
+        for (PlaceholderToken token : line.getTokens()) {
+            placeholderCache.expire(player, token);
+        }
+    }
+    
+    /**
+     * Get the number of players whose sidebar is shown and updated.
+     */
+    public int getActivePlayerCount() {
+        return sidebars.size();
+    }
+    
     /**
-     * Parse PlaceholderAPI placeholders.
+     * Get the number of players viewing the shared board.
      */
-    private String parsePlaceholders(Player player, String text) {
+    public int getSharedViewerCount() {
+        return sharedViewers.size();
+    }
+    
+    /**
+     * Get the number of async placeholder lookups dropped because the
+     * worker queue was full; a growing count means async-queue-size is too small.
+     */
+    public long getAsyncRejected() {
+        AsyncPlaceholderResolver async = asyncResolver;
+        return async != null ? async.getRejected() : 0;
+    }
+    
+    /**
+     * Get every placeholder of the current layout, with its call timing in
+     * {@link PlaceholderToken#getProfile()}.
+     */
+    public Collection<PlaceholderToken> getPlaceholders() {
+        return getLayout().getTokens();
+    }
+    
+    /**
+     * Get update task timing and counters.
+     */
+    public SideBarStats getStats() {
+        return stats;
+    }
+    
+    private SideBarLayout compileLayout() {
+        return SideBarLayout.compile(config, message -> plugin.getLogger().warn(message));
+    }
+    
+    /**
+     * Get the compiled layout, compiling it on first use.
+     */
+    private SideBarLayout getLayout() {
+        SideBarLayout current = layout;
+        if (current == null) {
+            current = compileLayout();
+            layout = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Resolve a token below the scope cache: thread safe placeholders
+     * asynchronously, everything else right here on the main thread. Both
+     * paths go through the TTL cache.
+     */
+    private String resolveToken(Player player, PlaceholderToken token) {
+        AsyncPlaceholderResolver async = asyncResolver;
+        if (token.isAsync() && async != null) {
+            return async.resolve(player, token);
+        }
+        return placeholderCache.resolve(player, token);
+    }
+    
+    /**
+     * Called from a worker thread when an async placeholder changed; the lines
+     * using it are rewritten by the update task on the next tick.
+     */
+    private void onAsyncValueChanged(Player player, PlaceholderToken token) {
+        // The new value is already fetched; other placeholders on the line keep their cached values
+        if (token.getScope() == PlaceholderScope.PLAYER) {
+            markDirty(player.getUniqueId(), token.getLineMask(), false);
+        } else {
+            markAllDirty(token.getLineMask(), false);
+        }
+    }
+    
+    /**
+     * Called when a placeholder's expansion registers or unregisters; cached
+     * values came from the old expansion, so they are dropped.
+     */
+    private void onExpansionChanged(PlaceholderToken token) {
+        placeholderCache.clear();
+        markAllDirty(token.getLineMask(), false);
+    }
+    
+    /**
+     * Called, possibly from a worker thread, when a placeholder's breaker opens.
+     */
+    private void onPlaceholderTripped(PlaceholderToken token) {
+        plugin.getLogger().warn("Placeholder " + token.getRaw() + " is slow or failing ("
+            + TimeUnit.NANOSECONDS.toMillis(token.getProfile().getMaxNanos()) + " ms max, "
+            + token.getProfile().getErrors() + " errors), serving last values for "
+            + config.getPlaceholderBreakerCooldown() + " ticks");
+    }
+    
+    private static PlaceholderExpansion findExpansion(String identifier) {
+        PlaceholderAPIPlugin placeholderApi = PlaceholderAPIPlugin.getInstance();
+        return placeholderApi != null
+            ? placeholderApi.getLocalExpansionManager().getExpansion(identifier)
+            : null;
+    }
+    
+    /**
+     * Resolve a single PlaceholderAPI placeholder.
+     * <p>
+     * Bound tokens call their expansion directly; unbound ones fall back to
+     * a full PlaceholderAPI lookup. Exceptions are left to
+     * {@link PlaceholderGuard}, which counts them.
+     * </p>
+     */
+    private String resolvePlaceholder(Player player, PlaceholderToken token) {
         if (placeholderApiAvailable) {
+            PlaceholderResolver handler = token.getHandler();
+            if (handler != null) {
+                return handler.resolve(player, token);
+            }
+            return PlaceholderAPI.setPlaceholders(player, token.getRaw());
+        }
+        return token.getRaw();
+    }
+    
+    /**
+     * Load a player's preference before they join.
+     * <p>
+     * Called from the async pre-login event, off the main thread, so the join
+     * handler only reads already-loaded state.
+     * </p>
+     */
+    public void preloadPreference(UUID playerUuid) {
+        try {
+            getPreference(playerUuid);
+        } catch (Exception e) {
+            // Left unloaded; onPlayerJoin loads it again off the main thread
+            plugin.getLogger().warn("Failed to preload sidebar preference for " + playerUuid + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Load the preferences of many players with batched IN queries.
+     * <p>
+     * Used by init and reload so a full server costs a handful of queries
+     * instead of one per player. Players without a row get an unsaved
+     * preference; a failed batch falls back to per-player loading on access.
+     * </p>
+     */
+    private void preloadPreferences(Collection<? extends Player> players) {
+        List<String> missing = new ArrayList<>();
+        for (Player player : players) {
+            UUID playerUuid = player.getUniqueId();
+            SideBarPreference pending = pendingWrites.get(playerUuid);
+            if (pending != null) {
+                preferences.putIfAbsent(playerUuid, pending);
+            } else if (!preferences.containsKey(playerUuid)) {
+                missing.add(playerUuid.toString());
+            }
+        }
+        
+        for (int start = 0; start < missing.size(); start += PRELOAD_BATCH_SIZE) {
+            List<String> batch = missing.subList(start, Math.min(start + PRELOAD_BATCH_SIZE, missing.size()));
             try {
-                return PlaceholderAPI.setPlaceholders(player, text);
+                List<SideBarPreference> rows = dataOperator.query()
+                    .where("player_uuid")
+                    .in(batch.toArray())
+                    .list();
+                for (SideBarPreference row : rows) {
+                    preferences.putIfAbsent(UUID.fromString(row.getPlayerUuid()), row);
+                }
+                for (String playerUuid : batch) {
+                    preferences.putIfAbsent(UUID.fromString(playerUuid), new SideBarPreference(playerUuid, null));
+                }
             } catch (Exception e) {
-                return text;
+                plugin.getLogger().warn("Failed to bulk load sidebar preferences: " + e.getMessage());
             }
         }
-        return text;
+    }
+    
+    /**
+     * Drop a preloaded preference for a player whose login was denied.
+     */
+    public void evictPreference(UUID playerUuid) {
+        preferences.remove(playerUuid);
     }
     
     /**
      * Handle player join.
      */
     public void onPlayerJoin(Player player) {
-        if (isSidebarEnabledInDatabase(player.getUniqueId())) {
-            // Delay to allow other plugins to load
+        UUID playerUuid = player.getUniqueId();
+        if (preferences.containsKey(playerUuid)) {
+            showOnJoin(player);
+            return;
+        }
+        
+        // Not preloaded: fetch off the main thread, then continue on it
+        Bukkit.getScheduler().runTaskAsynchronously(bukkitPlugin, () -> {
+            preloadPreference(playerUuid);
+            Bukkit.getScheduler().runTask(bukkitPlugin, () -> {
+                if (player.isOnline()) {
+                    // If the load failed too, skip the sidebar rather than query on the main thread
+                    if (preferences.containsKey(playerUuid)) {
+                        showOnJoin(player);
+                    }
+                } else {
+                    evictPreference(playerUuid);
+                }
+            });
+        });
+    }
+    
+    /**
+     * Schedule the sidebar for a joined player whose preference is loaded.
+     */
+    private void showOnJoin(Player player) {
+        if (isPreferenceEnabled(player.getUniqueId())) {
+            // Delay to allow other plugins to load; the player may quit or toggle off meanwhile
             Bukkit.getScheduler().runTaskLater(
                 bukkitPlugin,
-                () -> enableSidebar(player),
+                () -> {
+                    if (player.isOnline() && isSidebarEnabled(player)) {
+                        showSidebar(player);
+                    }
+                },
                 10L
             );
         }
@@ -371,8 +1148,13 @@ public class SideBarService {
      * Handle player quit.
      */
     public void onPlayerQuit(Player player) {
-        playerScoreboards.remove(player.getUniqueId());
-        contentCache.remove(player.getUniqueId());
+        detach(sidebars.remove(player.getUniqueId()));
+        preferences.remove(player.getUniqueId());
+        placeholderCache.forget(player.getUniqueId());
+        placeholderGuard.forget(player.getUniqueId());
+        if (asyncResolver != null) {
+            asyncResolver.forget(player.getUniqueId());
+        }
     }
     
     /**
@@ -381,8 +1163,8 @@ public class SideBarService {
     public void onWorldChange(Player player) {
         if (config.getWorldBlacklist().contains(player.getWorld().getName())) {
             removeSidebar(player);
-        } else if (isSidebarEnabled(player) && !playerScoreboards.containsKey(player.getUniqueId())) {
-            enableSidebar(player);
+        } else if (isSidebarEnabled(player) && !sidebars.containsKey(player.getUniqueId())) {
+            showSidebar(player);
         }
     }
 }
@@ -0,0 +1,151 @@
+package com.ultikits.plugins.sidebar.service;
+
+/**
+ * Timing and counters of the sidebar update task.
+ * <p>
+ * A cycle is one run of the update task, i.e. one tick's bucket of players.
+ * Durations go into a rolling histogram; counters are totals since the
+ * plugin was enabled. Written from the main thread only.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class SideBarStats {
+
+    // 60 seconds of per-tick samples
+    private static final int WINDOW = 1200;
+
+    private final RollingHistogram cycleNanos = new RollingHistogram(WINDOW);
+
+    private long cycles;
+    private long playersProcessed;
+    private long dirtyRefreshes;
+    private long linesResolved;
+    private long linesSkipped;
+    private long linesReused;
+    private long mutations;
+    private long deferred;
+    private int backlog;
+    private int interval;
+    private double mspt = -1;
+
+    /**
+     * Record one run of the update task.
+     *
+     * @param nanos   wall time spent in the run
+     * @param players number of players updated
+     */
+    public void recordCycle(long nanos, int players) {
+        cycleNanos.record(nanos);
+        cycles++;
+        playersProcessed += players;
+    }
+
+    /**
+     * Record players refreshed because an event marked their lines dirty.
+     */
+    public void recordDirtyRefreshes(int players) {
+        dirtyRefreshes += players;
+    }
+
+    /**
+     * Record one placeholder line that was resolved.
+     *
+     * @param lineMutations scoreboard mutations caused by the line, 0 if the
+     *                      content cache skipped it
+     */
+    public void recordLine(int lineMutations) {
+        linesResolved++;
+        if (lineMutations == 0) {
+            linesSkipped++;
+        } else {
+            mutations += lineMutations;
+        }
+    }
+
+    /**
+     * Record one placeholder line that kept its last value because its
+     * refresh interval had not passed.
+     */
+    public void recordLineReused() {
+        linesReused++;
+    }
+
+    /**
+     * Record scoreboard mutations not tied to a resolved line (titles, layout binds).
+     */
+    public void recordMutations(int count) {
+        mutations += count;
+    }
+
+    /**
+     * Record players pushed to the next tick by the tick budget.
+     *
+     * @param count   players deferred in this run
+     * @param pending players currently waiting in the backlog
+     */
+    public void recordDeferred(int count, int pending) {
+        deferred += count;
+        backlog = pending;
+    }
+
+    /**
+     * Record the effective update interval.
+     *
+     * @param ticks current interval in ticks
+     * @param mspt  last MSPT sample of the adaptive interval, negative if not adaptive
+     */
+    public void recordInterval(int ticks, double mspt) {
+        this.interval = ticks;
+        this.mspt = mspt;
+    }
+
+    public RollingHistogram.Snapshot getCycleNanos() {
+        return cycleNanos.snapshot();
+    }
+
+    public long getCycles() {
+        return cycles;
+    }
+
+    public long getPlayersProcessed() {
+        return playersProcessed;
+    }
+
+    public long getDirtyRefreshes() {
+        return dirtyRefreshes;
+    }
+
+    public long getLinesResolved() {
+        return linesResolved;
+    }
+
+    public long getLinesSkipped() {
+        return linesSkipped;
+    }
+
+    public long getLinesReused() {
+        return linesReused;
+    }
+
+    public long getMutations() {
+        return mutations;
+    }
+
+    public long getDeferred() {
+        return deferred;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public double getMspt() {
+        return mspt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ultikits.plugins.sidebar.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spreads players across the ticks of an update interval.
+ * <p>
+ * Each player is assigned a bucket from their UUID hash. The update task runs
+ * every tick and only processes the bucket for that tick, so each player is
+ * still refreshed once per interval but the cost is spread evenly instead of
+ * landing on a single tick.
+ * </p>
+ *
+ * @param <T> the per-player value stored in a bucket
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class UpdateBuckets<T> {
+
+    private final List<Map<UUID, T>> buckets;
+
+    /**
+     * @param count number of buckets, normally the update interval in ticks
+     */
+    public UpdateBuckets(int count) {
+        int size = Math.max(1, count);
+        buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Get the bucket a player belongs to.
+     */
+    public static int bucketOf(UUID uuid, int count) {
+        return Math.floorMod(uuid.hashCode(), count);
+    }
+
+    public void add(UUID uuid, T value) {
+        buckets.get(bucketOf(uuid, buckets.size())).put(uuid, value);
+    }
+
+    public void remove(UUID uuid) {
+        buckets.get(bucketOf(uuid, buckets.size())).remove(uuid);
+    }
+
+    /**
+     * Get the players due on the given tick.
+     *
+     * @param tick a monotonically increasing tick counter
+     */
+    public Collection<T> due(long tick) {
+        return buckets.get((int) (tick % buckets.size())).values();
+    }
+
+    /**
+     * Copy every player into a new set of buckets.
+     *
+     * @param count the new number of buckets
+     */
+    public UpdateBuckets<T> resize(int count) {
+        UpdateBuckets<T> resized = new UpdateBuckets<>(count);
+        for (Map<UUID, T> bucket : buckets) {
+            for (Map.Entry<UUID, T> entry : bucket.entrySet()) {
+                resized.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return resized;
+    }
+
+    /**
+     * Get the number of players across all buckets.
+     */
+    public int size() {
+        int size = 0;
+        for (Map<UUID, T> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    public void clear() {
+        for (Map<UUID, T> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+}
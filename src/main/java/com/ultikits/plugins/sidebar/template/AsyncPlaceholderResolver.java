@@ -0,0 +1,174 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Resolver that looks up thread safe placeholders on a bounded worker pool.
+ * <p>
+ * {@link #resolve(Player, PlaceholderToken)} never blocks: it returns the
+ * last value fetched for the player (empty before the first fetch) and queues
+ * a new fetch. When a fetch yields a different value the change callback is
+ * invoked from the worker thread, so the caller can mark the affected lines
+ * dirty and rewrite them on the main thread. The next resolve consumes that
+ * value without queueing another fetch, so a changing value is fetched at
+ * most once per update.
+ * </p>
+ * <p>
+ * Server and world scoped placeholders are fetched once for everyone. When
+ * the queue is full the fetch is skipped and the old value stays.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class AsyncPlaceholderResolver implements PlaceholderResolver {
+
+    private final PlaceholderResolver source;
+    private final BiConsumer<Player, PlaceholderToken> onChange;
+    private final ThreadPoolExecutor executor;
+
+    // Player UUID (world UID for world scope) to the values fetched for it
+    private final Map<UUID, Map<PlaceholderToken, AsyncValue>> values = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param source    resolver performing the actual lookup, called on worker threads
+     * @param onChange  called from a worker thread when a fetched value changed
+     * @param threads   number of worker threads
+     * @param queueSize maximum number of queued fetches
+     */
+    public AsyncPlaceholderResolver(PlaceholderResolver source, BiConsumer<Player, PlaceholderToken> onChange,
+                                    int threads, int queueSize) {
+        this.source = source;
+        this.onChange = onChange;
+        AtomicInteger threadCount = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                Thread thread = new Thread(runnable, "UltiSideBar-Placeholder-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public String resolve(Player player, PlaceholderToken token) {
+        AsyncValue entry = entryFor(player, token);
+        if (!entry.fresh.compareAndSet(true, false)) {
+            fetch(entry, player);
+        }
+        String value = entry.value;
+        return value != null ? value : "";
+    }
+
+    /**
+     * Drop the values fetched for a player, e.g. on quit.
+     * A fetch still running for them is discarded.
+     */
+    public void forget(UUID playerUuid) {
+        values.remove(playerUuid);
+    }
+
+    /**
+     * Stop the workers; queued fetches are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        values.clear();
+    }
+
+    /**
+     * Get the number of fetches skipped because the queue was full.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private AsyncValue entryFor(Player player, PlaceholderToken token) {
+        UUID key = token.ownerKey(player);
+        Map<PlaceholderToken, AsyncValue> owned = values.get(key);
+        if (owned == null) {
+            owned = values.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        AsyncValue entry = owned.get(token);
+        if (entry == null) {
+            AsyncValue created = new AsyncValue(token);
+            entry = owned.putIfAbsent(token, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry;
+    }
+
+    private void fetch(AsyncValue entry, Player player) {
+        if (!entry.pending.compareAndSet(false, true)) {
+            return;
+        }
+        entry.player = player;
+        try {
+            executor.execute(entry);
+        } catch (RejectedExecutionException e) {
+            entry.player = null;
+            entry.pending.set(false);
+            rejected.incrementAndGet();
+        }
+    }
+
+    /**
+     * Last fetched value of one placeholder; also the fetch task itself, so
+     * queueing a fetch allocates nothing.
+     */
+    private final class AsyncValue implements Runnable {
+
+        private final PlaceholderToken token;
+        private final AtomicBoolean pending = new AtomicBoolean();
+
+        // Set when a fetch changed the value, cleared by the next resolve
+        private final AtomicBoolean fresh = new AtomicBoolean();
+
+        private volatile String value;
+
+        // Player to resolve for, set while a fetch is queued
+        private volatile Player player;
+
+        private AsyncValue(PlaceholderToken token) {
+            this.token = token;
+        }
+
+        @Override
+        public void run() {
+            Player target = player;
+            player = null;
+            String resolved;
+            try {
+                resolved = source.resolve(target, token);
+            } catch (RuntimeException e) {
+                resolved = token.getRaw();
+            }
+            boolean changed = !resolved.equals(value);
+            value = resolved;
+            if (changed) {
+                fresh.set(true);
+            }
+            pending.set(false);
+            if (changed) {
+                onChange.accept(target, token);
+            }
+        }
+    }
+}
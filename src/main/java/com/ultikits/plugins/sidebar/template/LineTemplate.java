@@ -0,0 +1,170 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A configured line compiled into static segments and placeholder slots.
+ * <p>
+ * Static segments are color-translated once at compile time; rendering only
+ * fills in the placeholder slots and translates the resolved values.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class LineTemplate {
+
+    private final String source;
+
+    // statics.length == tokens.length + 1; statics[i] precedes tokens[i]
+    private final String[] statics;
+    private final PlaceholderToken[] tokens;
+
+    private LineTemplate(String source, String[] statics, PlaceholderToken[] tokens) {
+        this.source = source;
+        this.statics = statics;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Compile a raw config line.
+     *
+     * @param source   the raw line with {@code &} color codes and placeholders
+     * @param interned token pool shared across a layout
+     * @return the compiled template
+     */
+    public static LineTemplate compile(String source, Map<String, PlaceholderToken> interned) {
+        String text = source == null ? "" : source;
+        List<String> statics = new ArrayList<>();
+        List<PlaceholderToken> tokens = new ArrayList<>();
+
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int end = c == '%' ? text.indexOf('%', i + 1) : -1;
+            if (end > i + 1 && isPlaceholder(text, i + 1, end)) {
+                String raw = text.substring(i, end + 1);
+                statics.add(translate(current.toString()));
+                current.setLength(0);
+                tokens.add(interned.computeIfAbsent(raw, PlaceholderToken::new));
+                i = end + 1;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        statics.add(translate(current.toString()));
+
+        return new LineTemplate(source,
+            statics.toArray(new String[0]),
+            tokens.toArray(new PlaceholderToken[0]));
+    }
+
+    /**
+     * Resolve every placeholder into a caller-owned value array.
+     * <p>
+     * The array keeps the previous values between calls, so an unchanged line
+     * is detected without building its text. Nothing is allocated here beyond
+     * what the resolver itself allocates.
+     * </p>
+     *
+     * @param player   the viewing player
+     * @param resolver placeholder resolver
+     * @param values   previous values, one per token; updated in place
+     * @return {@code true} if any value differs from the previous one
+     */
+    public boolean resolve(Player player, PlaceholderResolver resolver, String[] values) {
+        boolean changed = false;
+        for (int i = 0; i < tokens.length; i++) {
+            String value = resolver.resolve(player, tokens[i]);
+            if (!value.equals(values[i])) {
+                values[i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Build the translated line from resolved values.
+     *
+     * @param values one resolved value per token
+     * @return the translated line
+     */
+    public String build(String[] values) {
+        if (tokens.length == 0) {
+            return statics[0];
+        }
+        StringBuilder builder = new StringBuilder(statics[0]);
+        for (int i = 0; i < tokens.length; i++) {
+            builder.append(translate(values[i]));
+            builder.append(statics[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Check whether this line contains no placeholders.
+     * <p>
+     * Static lines render to the same text for every player and never need
+     * to be re-resolved until the config changes.
+     * </p>
+     */
+    public boolean isStatic() {
+        return tokens.length == 0;
+    }
+
+    /**
+     * Get the pre-translated text of a static line.
+     *
+     * @throws IllegalStateException if the line contains placeholders
+     */
+    public String getStaticText() {
+        if (!isStatic()) {
+            throw new IllegalStateException("Line contains placeholders: " + source);
+        }
+        return statics[0];
+    }
+
+    /**
+     * Get the raw config line this template was compiled from.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Get the placeholder slots of this line, in order.
+     */
+    public PlaceholderToken[] getTokens() {
+        return tokens;
+    }
+
+    // PlaceholderAPI placeholders are %identifier_params% with no whitespace
+    private static boolean isPlaceholder(String text, int start, int end) {
+        int separator = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                return false;
+            }
+            if (c == '_' && separator < 0) {
+                separator = i;
+            }
+        }
+        return separator > start;
+    }
+
+    private static String translate(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+}
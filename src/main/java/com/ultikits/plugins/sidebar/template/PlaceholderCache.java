@@ -0,0 +1,181 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolver that reuses a placeholder's value for its configured TTL.
+ * <p>
+ * Values are kept per player and placeholder (per world or once for the
+ * server for scoped placeholders), so an expensive expansion is called at
+ * the rate its data changes rather than at the sidebar refresh rate.
+ * Placeholders without a TTL go straight to the source.
+ * </p>
+ * <p>
+ * The number of entries is bounded; when full, the oldest entry is evicted.
+ * Safe to use from the main thread and the async placeholder workers.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class PlaceholderCache implements PlaceholderResolver {
+
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final PlaceholderResolver source;
+    private final LongSupplier clock;
+
+    // Owner key (see PlaceholderToken#ownerKey) to its cached values
+    private final Map<UUID, Map<PlaceholderToken, CachedValue>> values = new ConcurrentHashMap<>();
+
+    // Entries in creation order, oldest evicted first
+    private final Queue<CachedValue> order = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile int maxEntries;
+
+    /**
+     * @param source     resolver performing the actual lookup
+     * @param clock      current time in nanoseconds, usually {@code System::nanoTime}
+     * @param maxEntries maximum number of cached values
+     */
+    public PlaceholderCache(PlaceholderResolver source, LongSupplier clock, int maxEntries) {
+        this.source = source;
+        this.clock = clock;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    @Override
+    public String resolve(Player player, PlaceholderToken token) {
+        if (token.getTtl() <= 0) {
+            return source.resolve(player, token);
+        }
+        UUID key = token.ownerKey(player);
+        Map<PlaceholderToken, CachedValue> owned = values.get(key);
+        CachedValue cached = owned != null ? owned.get(token) : null;
+        long now = clock.getAsLong();
+        if (cached != null && now - cached.expiresAt < 0) {
+            return cached.value;
+        }
+
+        String value = source.resolve(player, token);
+        if (cached == null) {
+            cached = store(key, token);
+        }
+        cached.value = value;
+        cached.expiresAt = now + token.getTtl() * NANOS_PER_TICK;
+        return value;
+    }
+
+    /**
+     * Change the maximum number of cached values, evicting the oldest if needed.
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        evict();
+    }
+
+    /**
+     * Expire the cached value of one placeholder for a player (or the
+     * player's world or the server, depending on its scope), so the next
+     * lookup calls the source. The entry is kept and overwritten in place.
+     */
+    public void expire(Player player, PlaceholderToken token) {
+        if (token.getTtl() <= 0) {
+            return;
+        }
+        Map<PlaceholderToken, CachedValue> owned = values.get(token.ownerKey(player));
+        CachedValue cached = owned != null ? owned.get(token) : null;
+        if (cached != null) {
+            cached.expiresAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Drop the values cached for a player, e.g. on quit.
+     */
+    public void forget(UUID playerUuid) {
+        Map<PlaceholderToken, CachedValue> owned = values.remove(playerUuid);
+        if (owned == null) {
+            return;
+        }
+        for (CachedValue cached : owned.values()) {
+            release(cached);
+        }
+        order.removeIf(cached -> cached.removed.get());
+    }
+
+    /**
+     * Drop every value, e.g. when the layout is recompiled and its tokens replaced.
+     */
+    public void clear() {
+        values.clear();
+        CachedValue cached;
+        while ((cached = order.poll()) != null) {
+            release(cached);
+        }
+    }
+
+    /**
+     * Get the number of cached values.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private CachedValue store(UUID key, PlaceholderToken token) {
+        Map<PlaceholderToken, CachedValue> owned = values.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        CachedValue created = new CachedValue(owned, token);
+        CachedValue existing = owned.putIfAbsent(token, created);
+        if (existing != null) {
+            return existing;
+        }
+        order.add(created);
+        size.incrementAndGet();
+        evict();
+        return created;
+    }
+
+    private void evict() {
+        while (size.get() > maxEntries) {
+            CachedValue oldest = order.poll();
+            if (oldest == null) {
+                return;
+            }
+            oldest.owner.remove(oldest.token, oldest);
+            release(oldest);
+        }
+    }
+
+    private void release(CachedValue cached) {
+        if (cached.removed.compareAndSet(false, true)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private static final class CachedValue {
+
+        private final Map<PlaceholderToken, CachedValue> owner;
+        private final PlaceholderToken token;
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private volatile String value;
+        private volatile long expiresAt;
+
+        private CachedValue(Map<PlaceholderToken, CachedValue> owner, PlaceholderToken token) {
+            this.owner = owner;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolver that times every expansion call and cuts off misbehaving ones.
+ * <p>
+ * Each call is recorded in the token's {@link PlaceholderProfile}. A call
+ * that throws or takes longer than the slow threshold counts as bad; after
+ * enough bad calls in a row the breaker opens and the placeholder is not
+ * called for the cooldown. Meanwhile, and for failed calls, the last good
+ * value for the player is served, or the fallback text if there is none.
+ * The first bad call after the cooldown opens the breaker again.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class PlaceholderGuard implements PlaceholderResolver {
+
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final PlaceholderResolver source;
+    private final LongSupplier clock;
+    private final Consumer<PlaceholderToken> onOpen;
+
+    // Last successful value per owner key (see PlaceholderToken#ownerKey)
+    private final Map<UUID, Map<PlaceholderToken, String>> lastGood = new ConcurrentHashMap<>();
+
+    private volatile long slowNanos;
+    private volatile int failureThreshold = 3;
+    private volatile long cooldownNanos = 200 * NANOS_PER_TICK;
+    private volatile String fallback = "-";
+
+    /**
+     * @param source resolver performing the actual lookup
+     * @param clock  current time in nanoseconds, usually {@code System::nanoTime}
+     * @param onOpen called when a placeholder's breaker opens
+     */
+    public PlaceholderGuard(PlaceholderResolver source, LongSupplier clock, Consumer<PlaceholderToken> onOpen) {
+        this.source = source;
+        this.clock = clock;
+        this.onOpen = onOpen;
+    }
+
+    /**
+     * Set the breaker thresholds.
+     *
+     * @param slowMillis       call time above which a call counts as bad, 0 to only count errors
+     * @param failureThreshold bad calls in a row that open the breaker
+     * @param cooldownTicks    ticks the breaker stays open
+     * @param fallback         text served when no good value is known
+     */
+    public void configure(int slowMillis, int failureThreshold, int cooldownTicks, String fallback) {
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.cooldownNanos = cooldownTicks * NANOS_PER_TICK;
+        this.fallback = fallback != null ? fallback : "";
+    }
+
+    @Override
+    public String resolve(Player player, PlaceholderToken token) {
+        PlaceholderProfile profile = token.getProfile();
+        long start = clock.getAsLong();
+        if (profile.isOpen(start)) {
+            profile.recordShortCircuit();
+            return lastGoodOrFallback(player, token);
+        }
+
+        String value = null;
+        try {
+            value = source.resolve(player, token);
+        } catch (RuntimeException ignored) {
+            // Counted below, the last good value is served instead
+        }
+        long end = clock.getAsLong();
+        long elapsed = end - start;
+        boolean failed = value == null;
+        int bad = profile.record(elapsed, failed, slowNanos > 0 && elapsed > slowNanos);
+        if (bad >= failureThreshold) {
+            profile.open(end + cooldownNanos);
+            onOpen.accept(token);
+        }
+
+        if (failed) {
+            return lastGoodOrFallback(player, token);
+        }
+        remember(player, token, value);
+        return value;
+    }
+
+    /**
+     * Drop the last good values of a player, e.g. on quit.
+     */
+    public void forget(UUID playerUuid) {
+        lastGood.remove(playerUuid);
+    }
+
+    /**
+     * Drop every last good value, e.g. when the layout is recompiled.
+     */
+    public void clear() {
+        lastGood.clear();
+    }
+
+    private void remember(Player player, PlaceholderToken token, String value) {
+        Map<PlaceholderToken, String> owned = lastGood.get(token.ownerKey(player));
+        if (owned == null) {
+            owned = lastGood.computeIfAbsent(token.ownerKey(player), key -> new ConcurrentHashMap<>());
+        }
+        // Only write on change, so the steady state does not touch the map
+        if (!value.equals(owned.get(token))) {
+            owned.put(token, value);
+        }
+    }
+
+    private String lastGoodOrFallback(Player player, PlaceholderToken token) {
+        Map<PlaceholderToken, String> owned = lastGood.get(token.ownerKey(player));
+        String value = owned != null ? owned.get(token) : null;
+        return value != null ? value : fallback;
+    }
+}
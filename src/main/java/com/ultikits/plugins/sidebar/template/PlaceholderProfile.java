@@ -0,0 +1,115 @@
+package com.ultikits.plugins.sidebar.template;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Call timing and circuit breaker state of one placeholder.
+ * <p>
+ * Updated by {@link PlaceholderGuard} from the main thread and the async
+ * placeholder workers. Counts are totals since the layout was compiled.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class PlaceholderProfile {
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong slowCalls = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    // Slow or failed calls in a row; reset by any good call
+    private final AtomicInteger consecutiveBad = new AtomicInteger();
+
+    // Time (nanos) until which calls are skipped, 0 while the breaker is closed
+    private volatile long openUntil;
+
+    /**
+     * Record one call to the expansion.
+     *
+     * @param nanos  time spent in the call
+     * @param failed whether the call threw
+     * @param slow   whether the call exceeded the latency threshold
+     * @return number of slow or failed calls in a row, 0 after a good call
+     */
+    int record(long nanos, boolean failed, boolean slow) {
+        calls.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long max;
+        do {
+            max = maxNanos.get();
+        } while (nanos > max && !maxNanos.compareAndSet(max, nanos));
+
+        if (failed) {
+            errors.incrementAndGet();
+        }
+        if (slow) {
+            slowCalls.incrementAndGet();
+        }
+        if (failed || slow) {
+            return consecutiveBad.incrementAndGet();
+        }
+        consecutiveBad.set(0);
+        return 0;
+    }
+
+    void recordShortCircuit() {
+        shortCircuited.incrementAndGet();
+    }
+
+    boolean isOpen(long now) {
+        long until = openUntil;
+        return until != 0 && now - until < 0;
+    }
+
+    void open(long until) {
+        openUntil = until;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Get the mean call time, 0 before the first call.
+     */
+    public long getAverageNanos() {
+        long count = calls.get();
+        return count == 0 ? 0 : totalNanos.get() / count;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getSlowCalls() {
+        return slowCalls.get();
+    }
+
+    /**
+     * Get the number of lookups answered without calling the expansion
+     * because the breaker was open.
+     */
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    /**
+     * Check whether the breaker is currently open.
+     */
+    public boolean isOpen() {
+        return isOpen(System.nanoTime());
+    }
+}
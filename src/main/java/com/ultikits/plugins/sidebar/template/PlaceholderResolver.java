@@ -0,0 +1,22 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Resolves a compiled placeholder token for a player.
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+
+    /**
+     * Resolve a placeholder.
+     *
+     * @param player the viewing player
+     * @param token  the placeholder to resolve
+     * @return the raw (untranslated) value, never null
+     */
+    String resolve(Player player, PlaceholderToken token);
+}
@@ -0,0 +1,25 @@
+package com.ultikits.plugins.sidebar.template;
+
+/**
+ * How widely a placeholder's value can be shared within one update cycle.
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public enum PlaceholderScope {
+
+    /**
+     * Same value for every player; resolved once per cycle.
+     */
+    SERVER,
+
+    /**
+     * Same value for every player in a world; resolved once per world per cycle.
+     */
+    WORLD,
+
+    /**
+     * Player specific; resolved for every player.
+     */
+    PLAYER
+}
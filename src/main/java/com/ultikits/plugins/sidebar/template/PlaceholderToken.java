@@ -0,0 +1,167 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * A single compiled {@code %identifier_params%} placeholder.
+ * <p>
+ * Tokens are interned per layout, so every occurrence of the same placeholder
+ * shares one instance.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class PlaceholderToken {
+
+    // Key of server scoped values, shared by every player
+    private static final UUID SERVER_KEY = new UUID(0L, 0L);
+
+    private final String raw;
+    private final String identifier;
+    private final String params;
+
+    private PlaceholderScope scope = PlaceholderScope.PLAYER;
+
+    // Declared thread safe in the config, resolved off the main thread
+    private boolean async;
+
+    // Lines using this placeholder (bit i = line i), all bits if the title uses it
+    private long lineMask;
+
+    // Ticks a resolved value stays valid, 0 to resolve every time
+    private int ttl;
+
+    // Calls the expansion owning this placeholder directly, null if none is registered
+    private volatile PlaceholderResolver handler;
+
+    // Call timing and circuit breaker state
+    private final PlaceholderProfile profile = new PlaceholderProfile();
+
+    /**
+     * @param raw the full placeholder including the surrounding percent signs
+     */
+    public PlaceholderToken(String raw) {
+        this.raw = raw;
+        String inner = raw.substring(1, raw.length() - 1);
+        int split = inner.indexOf('_');
+        this.identifier = inner.substring(0, split);
+        this.params = inner.substring(split + 1);
+    }
+
+    /**
+     * Get the placeholder as written in the config, e.g. {@code %player_name%}.
+     */
+    public String getRaw() {
+        return raw;
+    }
+
+    /**
+     * Get the expansion identifier, e.g. {@code player}.
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Get the parameter string passed to the expansion, e.g. {@code name}.
+     */
+    public String getParams() {
+        return params;
+    }
+
+    /**
+     * Get how widely this placeholder's value can be shared.
+     */
+    public PlaceholderScope getScope() {
+        return scope;
+    }
+
+    void setScope(PlaceholderScope scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Check whether this placeholder is resolved by {@link AsyncPlaceholderResolver}.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Get the lines of the layout that use this placeholder.
+     *
+     * @return bit {@code i} set for line {@code i}; every bit if the title uses it
+     */
+    public long getLineMask() {
+        return lineMask;
+    }
+
+    void addLines(long mask) {
+        lineMask |= mask;
+    }
+
+    /**
+     * Get how many ticks a resolved value may be reused by {@link PlaceholderCache}.
+     *
+     * @return the TTL in ticks, 0 if values are never cached
+     */
+    public int getTtl() {
+        return ttl;
+    }
+
+    void setTtl(int ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Get the resolver bound to this placeholder's expansion.
+     *
+     * @return the handler, or {@code null} if no expansion is bound
+     */
+    public PlaceholderResolver getHandler() {
+        return handler;
+    }
+
+    /**
+     * Bind this placeholder to a resolver that calls its expansion directly.
+     *
+     * @param handler the handler, or {@code null} to unbind
+     */
+    public void bind(PlaceholderResolver handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Get the call timing and breaker state of this placeholder.
+     */
+    public PlaceholderProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get the key a value of this placeholder is stored under for a player:
+     * the player's UUID, their world's UID, or one key for the whole server.
+     */
+    UUID ownerKey(Player player) {
+        switch (scope) {
+            case SERVER:
+                return SERVER_KEY;
+            case WORLD:
+                return player.getWorld().getUID();
+            default:
+                return player.getUniqueId();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
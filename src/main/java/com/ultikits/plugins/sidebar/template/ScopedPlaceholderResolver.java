@@ -0,0 +1,87 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolver that shares server and world scoped values within an update cycle.
+ * <p>
+ * The first player that needs a server scoped placeholder in a cycle resolves
+ * it; everyone else reuses that value. World scoped placeholders are shared the
+ * same way per world. Call {@link #nextCycle()} at the start of every cycle.
+ * Only used from the main thread.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class ScopedPlaceholderResolver implements PlaceholderResolver {
+
+    private final PlaceholderResolver delegate;
+
+    // Entries are kept across cycles and overwritten in place, so a cycle allocates nothing
+    private final Map<PlaceholderToken, CachedValue> serverValues = new HashMap<>();
+    private final Map<String, Map<PlaceholderToken, CachedValue>> worldValues = new HashMap<>();
+
+    private long cycle;
+
+    /**
+     * @param delegate resolver that performs the actual placeholder lookup
+     */
+    public ScopedPlaceholderResolver(PlaceholderResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String resolve(Player player, PlaceholderToken token) {
+        switch (token.getScope()) {
+            case SERVER:
+                return resolveShared(serverValues, player, token);
+            case WORLD:
+                Map<PlaceholderToken, CachedValue> world = worldValues.get(player.getWorld().getName());
+                if (world == null) {
+                    world = new HashMap<>();
+                    worldValues.put(player.getWorld().getName(), world);
+                }
+                return resolveShared(world, player, token);
+            default:
+                return delegate.resolve(player, token);
+        }
+    }
+
+    private String resolveShared(Map<PlaceholderToken, CachedValue> values, Player player, PlaceholderToken token) {
+        CachedValue cached = values.get(token);
+        if (cached == null) {
+            cached = new CachedValue();
+            values.put(token, cached);
+        } else if (cached.cycle == cycle) {
+            return cached.value;
+        }
+        cached.value = delegate.resolve(player, token);
+        cached.cycle = cycle;
+        return cached.value;
+    }
+
+    /**
+     * Drop the values shared during the previous cycle.
+     */
+    public void nextCycle() {
+        cycle++;
+    }
+
+    /**
+     * Forget every entry, e.g. when the layout is recompiled and its tokens replaced.
+     */
+    public void clear() {
+        serverValues.clear();
+        worldValues.clear();
+        cycle++;
+    }
+
+    private static final class CachedValue {
+        private String value;
+        private long cycle = -1;
+    }
+}
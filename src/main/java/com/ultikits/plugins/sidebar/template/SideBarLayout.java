@@ -0,0 +1,263 @@
+package com.ultikits.plugins.sidebar.template;
+
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The sidebar title and lines compiled from {@link SideBarConfig}.
+ * <p>
+ * Built once per config load; the update task only renders it. A line may
+ * start with {@code [refresh:<ticks>]} to be resolved at most that often;
+ * lines without it are resolved on every update. Lines past
+ * {@link #MAX_LINES}, which the client cannot display, are dropped.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class SideBarLayout {
+
+    // Lines a sidebar objective can display
+    public static final int MAX_LINES = 15;
+
+    private static final String REFRESH_PREFIX = "[refresh:";
+
+    private final LineTemplate title;
+    private final List<LineTemplate> lines;
+    private final Map<String, PlaceholderToken> tokens;
+
+    // Indexes of lines that contain placeholders
+    private final int[] dynamicLines;
+
+    // Minimum ticks between resolves of each line, 0 for every update
+    private final int[] refreshIntervals;
+
+    // Every placeholder is server scoped, so all players see the same content
+    private final boolean playerIndependent;
+
+    private SideBarLayout(LineTemplate title, List<LineTemplate> lines, Map<String, PlaceholderToken> tokens,
+                          int[] refreshIntervals) {
+        this.title = title;
+        this.lines = lines;
+        this.tokens = tokens;
+        this.refreshIntervals = refreshIntervals;
+
+        boolean independent = true;
+        for (PlaceholderToken token : tokens.values()) {
+            if (token.getScope() != PlaceholderScope.SERVER) {
+                independent = false;
+                break;
+            }
+        }
+        this.playerIndependent = independent;
+
+        int count = 0;
+        for (LineTemplate line : lines) {
+            if (!line.isStatic()) {
+                count++;
+            }
+        }
+        this.dynamicLines = new int[count];
+        int next = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).isStatic()) {
+                dynamicLines[next++] = i;
+            }
+        }
+    }
+
+    /**
+     * Compile the title and lines of a config.
+     *
+     * @param config the sidebar config
+     * @return the compiled layout
+     */
+    public static SideBarLayout compile(SideBarConfig config) {
+        return compile(config, message -> { });
+    }
+
+    /**
+     * Compile the title and lines of a config.
+     *
+     * @param config the sidebar config
+     * @param warn   receives a message for every refresh prefix with an invalid interval
+     * @return the compiled layout
+     */
+    public static SideBarLayout compile(SideBarConfig config, Consumer<String> warn) {
+        Map<String, PlaceholderToken> interned = new LinkedHashMap<>();
+        LineTemplate title = LineTemplate.compile(config.getTitle(), interned);
+        for (PlaceholderToken token : title.getTokens()) {
+            token.addLines(-1L);
+        }
+
+        List<String> source = config.getLines() != null ? config.getLines() : Collections.<String>emptyList();
+        if (source.size() > MAX_LINES) {
+            source = source.subList(0, MAX_LINES);
+        }
+        List<LineTemplate> lines = new ArrayList<>(source.size());
+        int[] refreshIntervals = new int[source.size()];
+        for (int i = 0; i < source.size(); i++) {
+            String line = source.get(i);
+            // Strip any well-formed prefix, so an invalid one never shows up on the sidebar
+            int end = refreshEnd(line);
+            if (end >= 0) {
+                int ticks = parseTicks(line, end);
+                if (ticks < 0) {
+                    warn.accept("Invalid refresh interval on sidebar line " + (i + 1) + ": "
+                        + line.substring(0, end + 1));
+                }
+                refreshIntervals[i] = Math.max(0, ticks);
+                line = line.substring(end + 1);
+            }
+            LineTemplate template = LineTemplate.compile(line, interned);
+            for (PlaceholderToken token : template.getTokens()) {
+                token.addLines(1L << i);
+            }
+            lines.add(template);
+        }
+
+        for (PlaceholderToken token : interned.values()) {
+            token.setScope(classify(token, config));
+            token.setAsync(matchesAny(nameOf(token), config.getAsyncPlaceholders()));
+            token.setTtl(ttlOf(nameOf(token), config.getPlaceholderTtl()));
+        }
+        return new SideBarLayout(title, Collections.unmodifiableList(lines), interned, refreshIntervals);
+    }
+
+    /**
+     * Read the {@code [refresh:<ticks>]} prefix of a line.
+     *
+     * @return the interval in ticks, or 0 if the line has no valid prefix
+     */
+    static int parseRefresh(String line) {
+        int end = refreshEnd(line);
+        return end < 0 ? 0 : Math.max(0, parseTicks(line, end));
+    }
+
+    /**
+     * Find the closing bracket of a line's {@code [refresh:...]} prefix.
+     *
+     * @return the index of {@code ]}, or -1 if the line has no such prefix
+     */
+    private static int refreshEnd(String line) {
+        return line != null && line.startsWith(REFRESH_PREFIX) ? line.indexOf(']') : -1;
+    }
+
+    /**
+     * Parse the interval of a refresh prefix ending at {@code end}.
+     *
+     * @return the interval in ticks, or -1 if it is not a non-negative number
+     */
+    private static int parseTicks(String line, int end) {
+        try {
+            int ticks = Integer.parseInt(line.substring(REFRESH_PREFIX.length(), end).trim());
+            return ticks >= 0 ? ticks : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Classify a placeholder using the configured server and world patterns.
+     */
+    static PlaceholderScope classify(PlaceholderToken token, SideBarConfig config) {
+        String name = nameOf(token);
+        if (matchesAny(name, config.getServerPlaceholders())) {
+            return PlaceholderScope.SERVER;
+        }
+        if (matchesAny(name, config.getWorldPlaceholders())) {
+            return PlaceholderScope.WORLD;
+        }
+        return PlaceholderScope.PLAYER;
+    }
+
+    /**
+     * Find the TTL of a placeholder in {@code "pattern: ticks"} entries; the
+     * first matching entry wins.
+     *
+     * @return the TTL in ticks, 0 if no valid entry matches
+     */
+    static int ttlOf(String name, List<String> entries) {
+        if (entries == null) {
+            return 0;
+        }
+        for (String entry : entries) {
+            int split = entry.lastIndexOf(':');
+            if (split < 0 || !matchesAny(name, Collections.singletonList(entry.substring(0, split).trim()))) {
+                continue;
+            }
+            try {
+                return Math.max(0, Integer.parseInt(entry.substring(split + 1).trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static String nameOf(PlaceholderToken token) {
+        return token.getRaw().substring(1, token.getRaw().length() - 1);
+    }
+
+    // Patterns are placeholder names without percent signs; a trailing * matches any suffix
+    private static boolean matchesAny(String name, List<String> patterns) {
+        if (patterns == null) {
+            return false;
+        }
+        for (String pattern : patterns) {
+            String trimmed = pattern.replace("%", "");
+            if (trimmed.endsWith("*")
+                ? name.startsWith(trimmed.substring(0, trimmed.length() - 1))
+                : name.equals(trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public LineTemplate getTitle() {
+        return title;
+    }
+
+    public List<LineTemplate> getLines() {
+        return lines;
+    }
+
+    /**
+     * Get the indexes of lines that must be resolved on every update.
+     */
+    public int[] getDynamicLines() {
+        return dynamicLines;
+    }
+
+    /**
+     * Get the minimum ticks between resolves of a line.
+     *
+     * @return the interval, or 0 if the line is resolved on every update
+     */
+    public int getRefreshInterval(int index) {
+        return refreshIntervals[index];
+    }
+
+    /**
+     * Check whether the layout renders the same for every player, i.e. it has
+     * no placeholders or only server scoped ones.
+     */
+    public boolean isPlayerIndependent() {
+        return playerIndependent;
+    }
+
+    /**
+     * Get every distinct placeholder used by this layout.
+     */
+    public Collection<PlaceholderToken> getTokens() {
+        return Collections.unmodifiableCollection(tokens.values());
+    }
+}
@@ -77,6 +77,7 @@ public final class UltiSideBarTestHelper {
         lenient().when(player.getName()).thenReturn(name);
         lenient().when(player.getUniqueId()).thenReturn(uuid);
         lenient().when(player.hasPermission(anyString())).thenReturn(true);
+        lenient().when(player.isOnline()).thenReturn(true);
 
         World world = mock(World.class);
         lenient().when(world.getName()).thenReturn("world");
@@ -118,4 +119,18 @@ public final class UltiSideBarTestHelper {
         field.setAccessible(true); // NOPMD - intentional reflection for test mock injection
         field.set(target, value);
     }
+
+    public static Object getField(Object target, String fieldName) throws Exception {
+        Class<?> clazz = target.getClass();
+        while (clazz != null) {
+            try {
+                Field field = clazz.getDeclaredField(fieldName);
+                field.setAccessible(true); // NOPMD - intentional reflection for test inspection
+                return field.get(target);
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(fieldName);
+    }
 }
@@ -3,13 +3,20 @@ package com.ultikits.plugins.sidebar.commands;
 import com.ultikits.plugins.sidebar.UltiSideBar;
 import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
 import com.ultikits.plugins.sidebar.service.SideBarService;
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+import com.ultikits.plugins.sidebar.service.SideBarStats;
+import com.ultikits.plugins.sidebar.template.PlaceholderGuard;
+import com.ultikits.plugins.sidebar.template.PlaceholderToken;
+import com.ultikits.plugins.sidebar.template.SideBarLayout;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -157,6 +164,86 @@ class SideBarCommandTest {
             verify(sender).sendMessage("sidebar_help_on");
             verify(sender).sendMessage("sidebar_help_off");
             verify(sender).sendMessage("sidebar_help_reload");
+            verify(sender).sendMessage("sidebar_help_stats");
+            verify(sender).sendMessage("sidebar_help_placeholders");
+        }
+    }
+
+    // ==================== stats ====================
+
+    @Nested
+    @DisplayName("stats")
+    class Stats {
+
+        @Test
+        @DisplayName("Should print stats from the service")
+        void printsStats() {
+            CommandSender sender = mock(CommandSender.class);
+            SideBarStats stats = new SideBarStats();
+            stats.recordCycle(2_000_000, 10);
+            when(service.getStats()).thenReturn(stats);
+
+            command.stats(sender);
+
+            verify(sender).sendMessage("sidebar_stats_title");
+            verify(sender).sendMessage("sidebar_stats_active");
+            verify(sender).sendMessage("sidebar_stats_cycle_time");
+            verify(sender).sendMessage("sidebar_stats_counters");
+            verify(sender).sendMessage("sidebar_stats_lines");
+            verify(sender).sendMessage("sidebar_stats_deferred");
+            verify(sender).sendMessage("sidebar_stats_async");
+            verify(sender).sendMessage("sidebar_stats_interval");
+        }
+
+        @Test
+        @DisplayName("Should show MSPT when the interval is adaptive")
+        void printsAdaptiveInterval() {
+            CommandSender sender = mock(CommandSender.class);
+            SideBarStats stats = new SideBarStats();
+            stats.recordInterval(40, 62.5);
+            when(service.getStats()).thenReturn(stats);
+
+            command.stats(sender);
+
+            verify(sender).sendMessage("sidebar_stats_interval_adaptive");
+            verify(sender, never()).sendMessage("sidebar_stats_interval");
+        }
+    }
+
+    // ==================== placeholders ====================
+
+    @Nested
+    @DisplayName("placeholders")
+    class Placeholders {
+
+        @Test
+        @DisplayName("Should list placeholders, most expensive first")
+        void listsByTotalTime() {
+            SideBarConfig config = new SideBarConfig();
+            config.setTitle("Title");
+            config.setLines(Arrays.asList("%player_name%", "%vault_eco_balance%"));
+            SideBarLayout layout = SideBarLayout.compile(config);
+            PlaceholderToken name = layout.getLines().get(0).getTokens()[0];
+            PlaceholderToken balance = layout.getLines().get(1).getTokens()[0];
+
+            // Each call advances the clock by the token's cost
+            long[] now = {0};
+            PlaceholderGuard guard = new PlaceholderGuard((p, t) -> {
+                now[0] += t == balance ? 5_000_000 : 1_000;
+                return "v";
+            }, () -> now[0], t -> { });
+            guard.resolve(player, name);
+            guard.resolve(player, balance);
+            when(service.getPlaceholders()).thenReturn(layout.getTokens());
+            when(UltiSideBarTestHelper.getMockPlugin().i18n("sidebar_placeholders_entry")).thenReturn("%s %d");
+            CommandSender sender = mock(CommandSender.class);
+
+            command.placeholders(sender);
+
+            InOrder order = inOrder(sender);
+            order.verify(sender).sendMessage("sidebar_placeholders_title");
+            order.verify(sender).sendMessage("%vault_eco_balance% 1");
+            order.verify(sender).sendMessage("%player_name% 1");
         }
     }
 
@@ -211,7 +298,7 @@ class SideBarCommandTest {
 
             List<String> suggestions = command.suggest(sender, mockCommand, new String[]{""});
 
-            assertThat(suggestions).containsExactlyInAnyOrder("toggle", "on", "off", "reload");
+            assertThat(suggestions).containsExactlyInAnyOrder("toggle", "on", "off", "reload", "stats", "placeholders");
         }
 
         @Test
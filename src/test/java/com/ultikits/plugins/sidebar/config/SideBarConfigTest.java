@@ -50,6 +50,71 @@ class SideBarConfigTest {
             assertThat(config.getWorldBlacklist()).containsExactly("world_event");
         }
 
+        @Test
+        @DisplayName("Should have default placeholder scopes")
+        void placeholderScopes() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getServerPlaceholders()).contains("server_online", "server_time_*");
+            assertThat(config.getWorldPlaceholders()).containsExactly("world_name");
+        }
+
+        @Test
+        @DisplayName("Should have 100 tick save interval by default")
+        void saveInterval() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getSaveInterval()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should have adaptive interval off by default")
+        void adaptiveInterval() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.isAdaptiveInterval()).isFalse();
+            assertThat(config.getMaxUpdateInterval()).isEqualTo(60);
+            assertThat(config.getMsptThreshold()).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Should refresh the world line on world change by default")
+        void refreshEvents() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getRefreshEvents()).containsExactly("PlayerChangedWorldEvent: 4");
+        }
+
+        @Test
+        @DisplayName("Should cache slow changing placeholders by default")
+        void placeholderTtl() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getPlaceholderTtl()).containsExactly("vault_eco_*: 100", "player_ping: 40");
+            assertThat(config.getPlaceholderCacheSize()).isEqualTo(10000);
+        }
+
+        @Test
+        @DisplayName("Should have circuit breaker defaults")
+        void placeholderBreaker() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getPlaceholderSlowThreshold()).isEqualTo(10);
+            assertThat(config.getPlaceholderBreakerFailures()).isEqualTo(3);
+            assertThat(config.getPlaceholderBreakerCooldown()).isEqualTo(200);
+            assertThat(config.getPlaceholderFallback()).isEqualTo("-");
+        }
+
+        @Test
+        @DisplayName("Should resolve every placeholder synchronously by default")
+        void asyncPlaceholders() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getAsyncPlaceholders()).isEmpty();
+            assertThat(config.getAsyncThreads()).isEqualTo(2);
+            assertThat(config.getAsyncQueueSize()).isEqualTo(1024);
+        }
+
+        @Test
+        @DisplayName("Should have 5 ms tick budget by default")
+        void tickBudget() {
+            SideBarConfig config = createRealConfig();
+            assertThat(config.getTickBudget()).isEqualTo(5);
+        }
+
         @Test
         @DisplayName("Should have default enabled true")
         void defaultEnabled() {
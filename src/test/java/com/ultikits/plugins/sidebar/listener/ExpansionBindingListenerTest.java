@@ -0,0 +1,113 @@
+package com.ultikits.plugins.sidebar.listener;
+
+import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+import com.ultikits.plugins.sidebar.template.PlaceholderToken;
+import com.ultikits.plugins.sidebar.template.SideBarLayout;
+
+import me.clip.placeholderapi.events.ExpansionRegisterEvent;
+import me.clip.placeholderapi.events.ExpansionUnregisterEvent;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ExpansionBindingListener Tests")
+class ExpansionBindingListenerTest {
+
+    private Map<String, PlaceholderExpansion> registered;
+    private List<PlaceholderToken> rebound;
+    private ExpansionBindingListener listener;
+    private PlaceholderToken balance;
+    private PlaceholderToken name;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Arrays.asList("%Vault_eco_balance%", "%player_name%"));
+        SideBarLayout layout = SideBarLayout.compile(config);
+        balance = layout.getLines().get(0).getTokens()[0];
+        name = layout.getLines().get(1).getTokens()[0];
+
+        registered = new HashMap<>();
+        rebound = new ArrayList<>();
+        listener = new ExpansionBindingListener(layout::getTokens, registered::get, rebound::add);
+        player = UltiSideBarTestHelper.createMockPlayer("Steve", UUID.randomUUID());
+    }
+
+    private PlaceholderExpansion expansion(String identifier, String value) {
+        PlaceholderExpansion expansion = mock(PlaceholderExpansion.class);
+        lenient().when(expansion.getIdentifier()).thenReturn(identifier);
+        lenient().when(expansion.onRequest(any(OfflinePlayer.class), anyString())).thenReturn(value);
+        return expansion;
+    }
+
+    @Test
+    @DisplayName("Should bind tokens to their expansion and pass the parameters")
+    void bindsRegisteredExpansions() {
+        PlaceholderExpansion vault = expansion("vault", "100");
+        registered.put("vault", vault);
+
+        listener.bindAll();
+
+        assertThat(balance.getHandler()).isNotNull();
+        assertThat(name.getHandler()).isNull();
+        assertThat(balance.getHandler().resolve(player, balance)).isEqualTo("100");
+        verify(vault).onRequest(player, "eco_balance");
+    }
+
+    @Test
+    @DisplayName("Should keep the placeholder text when the expansion returns null")
+    void keepsRawOnNull() {
+        registered.put("vault", expansion("vault", null));
+
+        listener.bindAll();
+
+        assertThat(balance.getHandler().resolve(player, balance)).isEqualTo("%Vault_eco_balance%");
+    }
+
+    @Test
+    @DisplayName("Should bind tokens when their expansion registers")
+    void bindsOnRegister() {
+        listener.bindAll();
+        ExpansionRegisterEvent event = mock(ExpansionRegisterEvent.class);
+        when(event.getExpansion()).thenReturn(expansion("Vault", "5"));
+
+        listener.onRegister(event);
+
+        assertThat(balance.getHandler().resolve(player, balance)).isEqualTo("5");
+        assertThat(rebound).containsExactly(balance);
+    }
+
+    @Test
+    @DisplayName("Should unbind tokens when their expansion unregisters")
+    void unbindsOnUnregister() {
+        PlaceholderExpansion vault = expansion("vault", "100");
+        registered.put("vault", vault);
+        listener.bindAll();
+        ExpansionUnregisterEvent other = mock(ExpansionUnregisterEvent.class);
+        when(other.getExpansion()).thenReturn(expansion("vault", "1"));
+        ExpansionUnregisterEvent event = mock(ExpansionUnregisterEvent.class);
+        when(event.getExpansion()).thenReturn(vault);
+
+        listener.onUnregister(other);
+        assertThat(balance.getHandler()).isNotNull();
+
+        listener.onUnregister(event);
+        assertThat(balance.getHandler()).isNull();
+        assertThat(rebound).containsExactly(balance);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ultikits.plugins.sidebar.listener;
+
+import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
+import com.ultikits.plugins.sidebar.service.SideBarService;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.weather.WeatherChangeEvent;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RefreshEventListener Tests")
+class RefreshEventListenerTest {
+
+    private SideBarService service;
+    private Player player;
+    private final List<String> warnings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UltiSideBarTestHelper.setUp();
+        service = mock(SideBarService.class);
+        player = UltiSideBarTestHelper.createMockPlayer("TestPlayer", UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        UltiSideBarTestHelper.tearDown();
+    }
+
+    @Nested
+    @DisplayName("parse")
+    class Parse {
+
+        @Test
+        @DisplayName("Should resolve Bukkit events by simple name")
+        void simpleName() {
+            assertThat(RefreshEventListener.findEvent("PlayerChangedWorldEvent")).isEqualTo(PlayerChangedWorldEvent.class);
+            assertThat(RefreshEventListener.findEvent("WeatherChangeEvent")).isEqualTo(WeatherChangeEvent.class);
+            assertThat(RefreshEventListener.findEvent("org.bukkit.event.player.PlayerChangedWorldEvent"))
+                .isEqualTo(PlayerChangedWorldEvent.class);
+        }
+
+        @Test
+        @DisplayName("Should reject classes that are not events")
+        void notAnEvent() {
+            assertThat(RefreshEventListener.findEvent("java.lang.String")).isNull();
+            assertThat(RefreshEventListener.findEvent("NoSuchEvent")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should turn 1-based line numbers into a bit mask")
+        void lineMask() {
+            assertThat(RefreshEventListener.parseLines("1, 3")).isEqualTo(0b101L);
+            assertThat(RefreshEventListener.parseLines("*")).isEqualTo(SideBarService.ALL_LINES);
+            assertThat(RefreshEventListener.parseLines("0,abc")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should merge entries and warn about invalid ones")
+        void entries() {
+            RefreshEventListener listener = RefreshEventListener.parse(service, Arrays.asList(
+                "PlayerChangedWorldEvent: 1",
+                "PlayerChangedWorldEvent: 2",
+                "NoSuchEvent: 1",
+                "missing separator"), warnings::add);
+
+            assertThat(listener.getLineMasks()).containsOnlyKeys(PlayerChangedWorldEvent.class);
+            assertThat(listener.getLineMasks().get(PlayerChangedWorldEvent.class)).isEqualTo(0b11L);
+            assertThat(warnings).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("execute")
+    class Execute {
+
+        @Test
+        @DisplayName("Should dirty the lines of the event's player")
+        void playerEvent() {
+            RefreshEventListener listener = RefreshEventListener.parse(service,
+                Arrays.asList("PlayerChangedWorldEvent: 4"), warnings::add);
+
+            listener.execute(listener, new PlayerChangedWorldEvent(player, mock(World.class)));
+
+            verify(service).markDirty(player.getUniqueId(), 1L << 3);
+            verify(service, never()).markAllDirty(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should dirty every player for events without a player")
+        void serverEvent() {
+            RefreshEventListener listener = RefreshEventListener.parse(service,
+                Arrays.asList("WeatherChangeEvent: *"), warnings::add);
+
+            listener.execute(listener, new WeatherChangeEvent(mock(World.class), true));
+
+            verify(service).markAllDirty(SideBarService.ALL_LINES);
+        }
+
+        @Test
+        @DisplayName("Should match subclasses of a bound event")
+        void subclasses() {
+            RefreshEventListener listener = RefreshEventListener.parse(service,
+                Arrays.asList("org.bukkit.event.player.PlayerEvent: 2"), warnings::add);
+
+            assertThat(listener.maskFor(PlayerChangedWorldEvent.class)).isEqualTo(0b10L);
+            assertThat(listener.maskFor(WeatherChangeEvent.class)).isNull();
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
 import com.ultikits.plugins.sidebar.service.SideBarService;
 
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.junit.jupiter.api.*;
 
@@ -38,6 +40,67 @@ class SideBarListenerTest {
         UltiSideBarTestHelper.tearDown();
     }
 
+    // ==================== onPreLogin ====================
+
+    @Nested
+    @DisplayName("onPreLogin")
+    class OnPreLogin {
+
+        @Test
+        @DisplayName("Should preload preference for allowed logins")
+        void preloadsAllowed() {
+            UUID uuid = UUID.randomUUID();
+            AsyncPlayerPreLoginEvent event = mock(AsyncPlayerPreLoginEvent.class);
+            when(event.getLoginResult()).thenReturn(AsyncPlayerPreLoginEvent.Result.ALLOWED);
+            when(event.getUniqueId()).thenReturn(uuid);
+
+            listener.onPreLogin(event);
+
+            verify(service).preloadPreference(uuid);
+        }
+
+        @Test
+        @DisplayName("Should not preload for denied logins")
+        void skipsDenied() {
+            AsyncPlayerPreLoginEvent event = mock(AsyncPlayerPreLoginEvent.class);
+            when(event.getLoginResult()).thenReturn(AsyncPlayerPreLoginEvent.Result.KICK_BANNED);
+
+            listener.onPreLogin(event);
+
+            verify(service, never()).preloadPreference(any());
+        }
+    }
+
+    // ==================== onLogin ====================
+
+    @Nested
+    @DisplayName("onLogin")
+    class OnLogin {
+
+        @Test
+        @DisplayName("Should evict preloaded preference when login is denied")
+        void evictsDenied() {
+            PlayerLoginEvent event = mock(PlayerLoginEvent.class);
+            when(event.getResult()).thenReturn(PlayerLoginEvent.Result.KICK_FULL);
+            when(event.getPlayer()).thenReturn(player);
+
+            listener.onLogin(event);
+
+            verify(service).evictPreference(player.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should keep preference when login is allowed")
+        void keepsAllowed() {
+            PlayerLoginEvent event = mock(PlayerLoginEvent.class);
+            when(event.getResult()).thenReturn(PlayerLoginEvent.Result.ALLOWED);
+
+            listener.onLogin(event);
+
+            verify(service, never()).evictPreference(any());
+        }
+    }
+
     // ==================== onPlayerJoin ====================
 
     @Nested
@@ -0,0 +1,81 @@
+package com.ultikits.plugins.sidebar.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdaptiveInterval Tests")
+class AdaptiveIntervalTest {
+
+    private long now;
+
+    // Run one load sample where every tick takes the given time
+    private boolean sample(AdaptiveInterval interval, long tickMillis) {
+        boolean changed = false;
+        for (int i = 0; i < AdaptiveInterval.WINDOW; i++) {
+            now += TimeUnit.MILLISECONDS.toNanos(tickMillis);
+            changed |= interval.tick(now);
+        }
+        return changed;
+    }
+
+    private AdaptiveInterval measured(int min, int max) {
+        AdaptiveInterval interval = new AdaptiveInterval(min, max, 50, null);
+        interval.tick(now);
+        return interval;
+    }
+
+    @Test
+    @DisplayName("Should keep the base interval at 20 TPS")
+    void healthy() {
+        AdaptiveInterval interval = measured(20, 80);
+
+        assertThat(sample(interval, 50)).isFalse();
+        assertThat(interval.getInterval()).isEqualTo(20);
+        assertThat(interval.getMspt()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should double the interval while lagging, up to the maximum")
+    void stretches() {
+        AdaptiveInterval interval = measured(20, 60);
+
+        assertThat(sample(interval, 80)).isTrue();
+        assertThat(interval.getInterval()).isEqualTo(40);
+        sample(interval, 80);
+        assertThat(interval.getInterval()).isEqualTo(60);
+        sample(interval, 80);
+        assertThat(interval.getInterval()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Should shrink back only after several healthy samples")
+    void recovers() {
+        AdaptiveInterval interval = measured(20, 80);
+        sample(interval, 80);
+        sample(interval, 80);
+        assertThat(interval.getInterval()).isEqualTo(80);
+
+        for (int i = 1; i < AdaptiveInterval.RECOVER_WINDOWS; i++) {
+            sample(interval, 50);
+        }
+        assertThat(interval.getInterval()).isEqualTo(80);
+
+        sample(interval, 50);
+        assertThat(interval.getInterval()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should prefer the MSPT reported by the server")
+    void serverMspt() {
+        AdaptiveInterval interval = new AdaptiveInterval(20, 80, 40, () -> 45.0);
+        interval.tick(now);
+
+        sample(interval, 50);
+
+        assertThat(interval.getMspt()).isEqualTo(45.0);
+        assertThat(interval.getInterval()).isEqualTo(40);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ultikits.plugins.sidebar.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RollingHistogram Tests")
+class RollingHistogramTest {
+
+    @Test
+    @DisplayName("Should compute nearest-rank percentiles")
+    void percentiles() {
+        RollingHistogram histogram = new RollingHistogram(100);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        RollingHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.percentile(50)).isEqualTo(50);
+        assertThat(snapshot.percentile(95)).isEqualTo(95);
+        assertThat(snapshot.percentile(99)).isEqualTo(99);
+        assertThat(snapshot.max()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent samples")
+    void rollsOver() {
+        RollingHistogram histogram = new RollingHistogram(3);
+        histogram.record(1000);
+        histogram.record(1);
+        histogram.record(2);
+        histogram.record(3);
+
+        RollingHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.max()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should report zero when empty")
+    void empty() {
+        RollingHistogram.Snapshot snapshot = new RollingHistogram(10).snapshot();
+
+        assertThat(snapshot.percentile(99)).isZero();
+        assertThat(snapshot.max()).isZero();
+    }
+}
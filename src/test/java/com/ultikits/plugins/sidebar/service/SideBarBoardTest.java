@@ -0,0 +1,225 @@
+package com.ultikits.plugins.sidebar.service;
+
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+import com.ultikits.plugins.sidebar.template.SideBarLayout;
+
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SideBarBoard.
+ */
+@DisplayName("SideBarBoard Tests")
+class SideBarBoardTest {
+
+    private Scoreboard scoreboard;
+    private Objective objective;
+    private Map<String, Team> teams;
+    private SideBarBoard board;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = mock(Scoreboard.class);
+        objective = mock(Objective.class);
+        teams = new HashMap<>();
+
+        when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+        when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> {
+            Team team = mock(Team.class);
+            teams.put(inv.getArgument(0), team);
+            return team;
+        });
+        when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
+
+        board = new SideBarBoard(scoreboard, "Title");
+    }
+
+    // Lay out lines through setLineCount and setLine, the way bind and the service do
+    private int show(List<String> content) {
+        int mutations = board.setLineCount(content.size());
+        for (int i = 0; i < board.getLineCount(); i++) {
+            mutations += board.setLine(i, content.get(i));
+        }
+        return mutations;
+    }
+
+    @Test
+    @DisplayName("Should register sidebar objective on creation")
+    void registersObjective() {
+        verify(scoreboard).registerNewObjective(SideBarBoard.OBJECTIVE_NAME, "dummy", "Title");
+        verify(objective).setDisplaySlot(DisplaySlot.SIDEBAR);
+    }
+
+    @Test
+    @DisplayName("Should bind one team per line with a unique entry")
+    void bindsTeamPerLine() {
+        show(Arrays.asList("a", "", ""));
+
+        assertThat(teams).hasSize(3);
+        verify(teams.get("usb_line_0")).addEntry(SideBarBoard.entryFor(0));
+        verify(teams.get("usb_line_1")).addEntry(SideBarBoard.entryFor(1));
+        verify(teams.get("usb_line_2")).addEntry(SideBarBoard.entryFor(2));
+        assertThat(SideBarBoard.entryFor(1)).isNotEqualTo(SideBarBoard.entryFor(2));
+    }
+
+    @Test
+    @DisplayName("Should give every line slot a fixed, distinct entry")
+    void precomputedEntries() {
+        Set<String> entries = new HashSet<>();
+        for (int i = 0; i < SideBarLayout.MAX_LINES; i++) {
+            assertThat(SideBarBoard.entryFor(i)).isSameAs(SideBarBoard.entryFor(i));
+            entries.add(SideBarBoard.entryFor(i));
+        }
+        assertThat(entries).hasSize(SideBarLayout.MAX_LINES);
+
+        show(Arrays.asList("", "", ""));
+        clearInvocations(teams.get("usb_line_1"));
+        show(Arrays.asList("", "changed", ""));
+        verify(teams.get("usb_line_1"), never()).addEntry(anyString());
+    }
+
+    @Test
+    @DisplayName("Should cap the board at the displayable line count")
+    void capsLineCount() {
+        List<String> content = new ArrayList<>();
+        for (int i = 0; i < SideBarLayout.MAX_LINES + 5; i++) {
+            content.add("line " + i);
+        }
+
+        show(content);
+
+        assertThat(board.getLineCount()).isEqualTo(SideBarLayout.MAX_LINES);
+        assertThat(teams).hasSize(SideBarLayout.MAX_LINES);
+    }
+
+    @Test
+    @DisplayName("Should only rewrite changed lines")
+    void rewritesChangedLinesOnly() {
+        show(Arrays.asList("a", "b"));
+        Team first = teams.get("usb_line_0");
+        Team second = teams.get("usb_line_1");
+        clearInvocations(scoreboard, objective, first, second);
+
+        int mutations = show(Arrays.asList("a", "c"));
+
+        assertThat(mutations).isEqualTo(1);
+        verify(second).setPrefix("c");
+        verifyNoInteractions(first);
+        verify(scoreboard, never()).resetScores(anyString());
+        verify(objective, never()).getScore(anyString());
+    }
+
+    @Test
+    @DisplayName("Should issue no mutations when content unchanged")
+    void noMutationsWhenUnchanged() {
+        show(Arrays.asList("a", "b"));
+
+        assertThat(show(Arrays.asList("a", "b"))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should remove surplus slots when line count shrinks")
+    void shrinks() {
+        show(Arrays.asList("a", "b", "c"));
+        Team third = teams.get("usb_line_2");
+
+        show(Arrays.asList("a", "b"));
+
+        verify(scoreboard).resetScores(SideBarBoard.entryFor(2));
+        verify(third).unregister();
+        assertThat(board.getLineCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should split long lines into prefix and suffix")
+    void splitsLongLines() {
+        StringBuilder text = new StringBuilder(ChatColor.RED.toString());
+        for (int i = 0; i < 80; i++) {
+            text.append('x');
+        }
+
+        show(Collections.singletonList(text.toString()));
+
+        Team team = teams.get("usb_line_0");
+        verify(team).setPrefix(text.substring(0, 64));
+        verify(team).setSuffix(ChatColor.RED + text.substring(64));
+    }
+
+    @Test
+    @DisplayName("Should skip title update when unchanged")
+    void titleUnchanged() {
+        assertThat(board.setTitle("Title")).isZero();
+        assertThat(board.setTitle("New")).isEqualTo(1);
+        verify(objective).setDisplayName("New");
+    }
+
+    @Test
+    @DisplayName("Should rewrite lines after invalidate")
+    void invalidate() {
+        show(Collections.singletonList("a"));
+
+        board.invalidate();
+
+        assertThat(board.getLine(0)).isNull();
+        assertThat(board.setTitle("Title")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a line due once its refresh interval has passed")
+    void refreshInterval() {
+        show(Arrays.asList("a", "b"));
+        board.markRefreshed(1, 100);
+
+        assertThat(board.isDue(1, 150, 100)).isFalse();
+        assertThat(board.isDue(1, 200, 100)).isTrue();
+        assertThat(board.isDue(1, 150, 0)).isTrue();
+
+        board.invalidate();
+        assertThat(board.isDue(1, 150, 100)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should allocate placeholder value slots when binding a layout")
+    void bindAllocatesValueSlots() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("%server_name%");
+        config.setLines(Arrays.asList("&7static", "%player_name% %player_ping%"));
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        board.bind(layout);
+
+        assertThat(board.getTitleValues()).hasSize(1);
+        assertThat(board.getLineValues(0)).isEmpty();
+        assertThat(board.getLineValues(1)).hasSize(2);
+
+        String[] values = board.getLineValues(1);
+        board.bind(layout);
+        assertThat(board.getLineValues(1)).isSameAs(values);
+    }
+
+    @Test
+    @DisplayName("Should write static lines once when binding a layout")
+    void bindWritesStaticLinesOnce() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("&6Static Title");
+        config.setLines(Arrays.asList("&7static", "%player_name%"));
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        board.bind(layout);
+
+        verify(teams.get("usb_line_0")).setPrefix(ChatColor.GRAY + "static");
+        verify(teams.get("usb_line_1"), never()).setPrefix(anyString());
+        verify(objective).setDisplayName(ChatColor.GOLD + "Static Title");
+
+        clearInvocations(teams.get("usb_line_0"), objective);
+        assertThat(board.bind(layout)).isZero();
+        verifyNoInteractions(teams.get("usb_line_0"));
+    }
+}
@@ -4,19 +4,33 @@ import com.ultikits.plugins.sidebar.UltiSideBar;
 import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
 import com.ultikits.plugins.sidebar.config.SideBarConfig;
 import com.ultikits.plugins.sidebar.data.SideBarPreference;
+import com.ultikits.plugins.sidebar.listener.RefreshEventListener;
+import com.ultikits.plugins.sidebar.template.AsyncPlaceholderResolver;
+import com.ultikits.plugins.sidebar.template.PlaceholderCache;
+import com.ultikits.plugins.sidebar.template.PlaceholderResolver;
+import com.ultikits.plugins.sidebar.template.PlaceholderToken;
+import com.ultikits.plugins.sidebar.template.SideBarLayout;
 import com.ultikits.ultitools.interfaces.DataOperator;
 import com.ultikits.ultitools.interfaces.Query;
 
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.*;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -72,6 +86,45 @@ class SideBarServiceTest {
         UltiSideBarTestHelper.tearDown();
     }
 
+    /**
+     * Stub the scoreboard manager; every new scoreboard is a separate mock.
+     */
+    private ScoreboardManager stubScoreboards(MockedStatic<Bukkit> bukkitMock) {
+        ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
+        bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
+        when(scoreboardManager.getMainScoreboard()).thenReturn(mock(Scoreboard.class));
+        when(scoreboardManager.getNewScoreboard()).thenAnswer(inv -> {
+            Scoreboard scoreboard = mock(Scoreboard.class);
+            Objective objective = mock(Objective.class);
+            when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+            when(scoreboard.registerNewTeam(anyString())).thenAnswer(i -> mock(Team.class));
+            when(objective.getScore(anyString())).thenAnswer(i -> mock(Score.class));
+            return scoreboard;
+        });
+        return scoreboardManager;
+    }
+
+    private void invoke(String name) throws Exception {
+        Method method = SideBarService.class.getDeclaredMethod(name);
+        method.setAccessible(true);
+        method.invoke(service);
+    }
+
+    /**
+     * Run one tick of the update task.
+     */
+    private void runTick() throws Exception {
+        invoke("updateDueSidebars");
+    }
+
+    private SideBarBoard createBoard(Scoreboard scoreboard, Team team) {
+        Objective objective = mock(Objective.class);
+        when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+        when(scoreboard.registerNewTeam(anyString())).thenReturn(team);
+        when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
+        return new SideBarBoard(scoreboard, "&6&lTest Server");
+    }
+
     // ==================== init ====================
 
     @Nested
@@ -87,7 +140,7 @@ class SideBarServiceTest {
                 bukkitMock.when(Bukkit::getPluginManager).thenReturn(pluginManager);
                 bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Collections.emptyList());
 
-                org.bukkit.scheduler.BukkitScheduler scheduler = mock(org.bukkit.scheduler.BukkitScheduler.class);
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
                 bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
 
                 service.init();
@@ -96,6 +149,24 @@ class SideBarServiceTest {
             }
         }
 
+        @Test
+        @DisplayName("Should schedule staggered update task every tick")
+        void schedulesStaggeredTask() {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                PluginManager pluginManager = mock(PluginManager.class);
+                bukkitMock.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+                bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Collections.emptyList());
+
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
+                bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+                service.init();
+
+                verify(scheduler).runTaskTimer(any(), any(Runnable.class), eq(0L), eq(1L));
+                assertThat(service.getStats().getInterval()).isEqualTo(20);
+            }
+        }
+
         @Test
         @DisplayName("Should initialize for online players")
         void initForOnlinePlayers() {
@@ -105,7 +176,7 @@ class SideBarServiceTest {
                 bukkitMock.when(Bukkit::getPluginManager).thenReturn(pluginManager);
                 bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Collections.singletonList(player));
 
-                org.bukkit.scheduler.BukkitScheduler scheduler = mock(org.bukkit.scheduler.BukkitScheduler.class);
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
                 bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
 
                 // init() reassigns dataOperator from the mock plugin, so stub
@@ -119,6 +190,7 @@ class SideBarServiceTest {
                 when(pluginQuery.where(anyString())).thenReturn(pluginQuery);
                 when(pluginQuery.eq(any())).thenReturn(pluginQuery);
                 when(pluginQuery.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), true)));
+                when(pluginQuery.in(any(Object[].class))).thenReturn(pluginQuery);
 
                 ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
                 Scoreboard scoreboard = mock(Scoreboard.class);
@@ -126,12 +198,49 @@ class SideBarServiceTest {
                 bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
                 when(scoreboardManager.getNewScoreboard()).thenReturn(scoreboard);
                 when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+                when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> mock(Team.class));
+                when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
                 when(scoreboard.getEntries()).thenReturn(Collections.emptySet());
 
                 service.init();
 
-                // Should query for player preferences
-                verify(pluginDataOp, atLeastOnce()).query();
+                // Should bulk load player preferences
+                verify(pluginDataOp, times(1)).query();
+                verify(pluginQuery).in(any(Object[].class));
+                verify(pluginQuery, never()).eq(any());
+                verify(player).setScoreboard(scoreboard);
+            }
+        }
+
+        @Test
+        @DisplayName("Should load all online players with one query")
+        void bulkLoadsOnlinePlayers() {
+            Player other = UltiSideBarTestHelper.createMockPlayer("Other", UUID.randomUUID());
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                PluginManager pluginManager = mock(PluginManager.class);
+                bukkitMock.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+                bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Arrays.asList(player, other));
+                bukkitMock.when(Bukkit::getScheduler).thenReturn(mock(BukkitScheduler.class));
+                when(config.isEnabled()).thenReturn(false);
+
+                @SuppressWarnings("unchecked")
+                DataOperator<SideBarPreference> pluginDataOp =
+                    UltiSideBarTestHelper.getMockPlugin().getDataOperator(SideBarPreference.class);
+                @SuppressWarnings("unchecked")
+                Query<SideBarPreference> pluginQuery = mock(Query.class);
+                when(pluginDataOp.query()).thenReturn(pluginQuery);
+                when(pluginQuery.where(anyString())).thenReturn(pluginQuery);
+                when(pluginQuery.in(any(Object[].class))).thenReturn(pluginQuery);
+                when(pluginQuery.list()).thenReturn(Collections.singletonList(
+                    new SideBarPreference(playerUuid.toString(), false)));
+
+                service.init();
+
+                verify(pluginDataOp, times(1)).query();
+                when(config.isEnabled()).thenReturn(true);
+                assertThat(service.isSidebarEnabled(player)).isFalse();
+                assertThat(service.isSidebarEnabled(other)).isTrue();
+                verify(pluginDataOp, times(1)).query();
             }
         }
     }
@@ -180,6 +289,7 @@ class SideBarServiceTest {
             when(query.list()).thenReturn(Collections.emptyList());
 
             service.enableSidebar(player);
+            service.flushPreferences();
 
             // Should update database but not show scoreboard
             verify(dataOperator).insert(any(SideBarPreference.class));
@@ -192,12 +302,12 @@ class SideBarServiceTest {
                 ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
                 Scoreboard scoreboard = mock(Scoreboard.class);
                 Objective objective = mock(Objective.class);
-                Score score = mock(Score.class);
 
                 bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
                 when(scoreboardManager.getNewScoreboard()).thenReturn(scoreboard);
                 when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
-                when(objective.getScore(anyString())).thenReturn(score);
+                when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> mock(Team.class));
+                when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
                 when(scoreboard.getEntries()).thenReturn(Collections.emptySet());
 
                 when(query.list()).thenReturn(Collections.emptyList());
@@ -222,9 +332,12 @@ class SideBarServiceTest {
                 bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
                 when(scoreboardManager.getNewScoreboard()).thenReturn(scoreboard);
                 when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+                when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> mock(Team.class));
+                when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
                 when(scoreboard.getEntries()).thenReturn(Collections.emptySet());
 
                 service.enableSidebar(player);
+                service.flushPreferences();
 
                 ArgumentCaptor<SideBarPreference> captor = ArgumentCaptor.forClass(SideBarPreference.class);
                 verify(dataOperator).insert(captor.capture());
@@ -234,6 +347,36 @@ class SideBarServiceTest {
         }
     }
 
+    // ==================== showSidebar ====================
+
+    @Nested
+    @DisplayName("showSidebar")
+    class ShowSidebar {
+
+        @Test
+        @DisplayName("Should show scoreboard without persisting preference")
+        void showsWithoutPersisting() {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
+                Scoreboard scoreboard = mock(Scoreboard.class);
+                Objective objective = mock(Objective.class);
+
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
+                when(scoreboardManager.getNewScoreboard()).thenReturn(scoreboard);
+                when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+                when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> mock(Team.class));
+                when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
+
+                service.showSidebar(player);
+                service.flushPreferences();
+
+                verify(player).setScoreboard(scoreboard);
+                verify(dataOperator, never()).query();
+                verify(dataOperator, never()).insert(any());
+            }
+        }
+    }
+
     // ==================== disableSidebar ====================
 
     @Nested
@@ -253,6 +396,7 @@ class SideBarServiceTest {
                 when(scoreboardManager.getMainScoreboard()).thenReturn(mainScoreboard);
 
                 service.disableSidebar(player);
+                service.flushPreferences();
 
                 ArgumentCaptor<SideBarPreference> captor = ArgumentCaptor.forClass(SideBarPreference.class);
                 verify(dataOperator).insert(captor.capture());
@@ -299,6 +443,8 @@ class SideBarServiceTest {
                 bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
                 when(scoreboardManager.getNewScoreboard()).thenReturn(scoreboard);
                 when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+                when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> mock(Team.class));
+                when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
                 when(scoreboard.getEntries()).thenReturn(Collections.emptySet());
 
                 boolean result = service.toggleSidebar(player);
@@ -386,6 +532,174 @@ class SideBarServiceTest {
         }
     }
 
+    // ==================== preference cache ====================
+
+    @Nested
+    @DisplayName("preference cache")
+    class PreferenceCache {
+
+        @Test
+        @DisplayName("Should query the database only once per player")
+        void queriesOnce() {
+            when(query.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), true)));
+
+            service.isSidebarEnabled(player);
+            service.isSidebarEnabled(player);
+            service.isSidebarEnabled(player);
+
+            verify(dataOperator, times(1)).query();
+        }
+
+        @Test
+        @DisplayName("Should evict preference on quit")
+        void evictsOnQuit() {
+            when(query.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), true)));
+
+            service.isSidebarEnabled(player);
+            service.onPlayerQuit(player);
+            service.isSidebarEnabled(player);
+
+            verify(dataOperator, times(2)).query();
+        }
+
+        @Test
+        @DisplayName("Should not write when stored state is unchanged")
+        void skipsUnchangedWrite() {
+            when(query.list()).thenReturn(Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, false)));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
+
+                service.disableSidebar(player);
+                service.flushPreferences();
+
+                verify(dataOperator, never()).update(anyString(), any(), any());
+                verify(dataOperator, never()).insert(any());
+            }
+        }
+
+        @Test
+        @DisplayName("Should update cached row by id without querying again")
+        void updatesById() {
+            when(query.list()).thenReturn(Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, true)));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
+
+                service.disableSidebar(player);
+                service.flushPreferences();
+
+                verify(dataOperator).update("enabled", false, "test-id-" + playerUuid);
+                verify(dataOperator, times(1)).query();
+                assertThat(service.isSidebarEnabled(player)).isFalse();
+            }
+        }
+    }
+
+    // ==================== write-behind ====================
+
+    @Nested
+    @DisplayName("write-behind")
+    class WriteBehind {
+
+        @Test
+        @DisplayName("Should not write until flushed")
+        void defersWrites() {
+            when(query.list()).thenReturn(Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, true)));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(mock(ScoreboardManager.class));
+
+                service.disableSidebar(player);
+
+                verify(dataOperator, never()).update(anyString(), any(), any());
+            }
+        }
+
+        @Test
+        @DisplayName("Should coalesce repeated changes into one write")
+        void coalescesChanges() {
+            when(query.list()).thenReturn(Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, true)));
+            when(config.getWorldBlacklist()).thenReturn(Collections.singletonList("world"));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(mock(ScoreboardManager.class));
+
+                service.disableSidebar(player);
+                service.enableSidebar(player);
+                service.disableSidebar(player);
+                service.flushPreferences();
+
+                verify(dataOperator, times(1)).update("enabled", false, "test-id-" + playerUuid);
+                verifyNoMoreInteractions(ignoreStubs(dataOperator));
+            }
+        }
+
+        @Test
+        @DisplayName("Should flush queued writes on shutdown")
+        void flushesOnShutdown() {
+            when(query.list()).thenReturn(Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, true)));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(mock(ScoreboardManager.class));
+                bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Collections.emptyList());
+
+                service.disableSidebar(player);
+                service.shutdown();
+
+                verify(dataOperator).update("enabled", false, "test-id-" + playerUuid);
+            }
+        }
+
+        @Test
+        @DisplayName("Should re-queue failed writes")
+        void requeuesFailures() {
+            when(query.list()).thenReturn(Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, true)));
+            doThrow(new RuntimeException("db down")).doAnswer(inv -> null)
+                .when(dataOperator).update(anyString(), any(), any());
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(mock(ScoreboardManager.class));
+
+                service.disableSidebar(player);
+                service.flushPreferences();
+                service.flushPreferences();
+
+                verify(dataOperator, times(2)).update("enabled", false, "test-id-" + playerUuid);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep an unflushed change when the player rejoins before the flush")
+        void keepsPendingChangeOnRejoin() {
+            // Every query returns a fresh copy of the stored row, like the database would
+            when(query.list()).thenAnswer(inv -> Arrays.asList(
+                UltiSideBarTestHelper.createSamplePreference(playerUuid, true)));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(mock(ScoreboardManager.class));
+
+                service.disableSidebar(player);
+                service.onPlayerQuit(player);
+                service.preloadPreference(playerUuid);
+
+                assertThat(service.isSidebarEnabled(player)).isFalse();
+
+                service.flushPreferences();
+                verify(dataOperator).update("enabled", false, "test-id-" + playerUuid);
+                assertThat(service.isSidebarEnabled(player)).isFalse();
+            }
+        }
+    }
+
     // ==================== updateSidebar ====================
 
     @Nested
@@ -404,23 +718,560 @@ class SideBarServiceTest {
         @DisplayName("Should skip update when content unchanged")
         void skipWhenUnchanged() throws Exception {
             Scoreboard scoreboard = mock(Scoreboard.class);
-            Objective objective = mock(Objective.class);
-            when(scoreboard.getObjective("sidebar")).thenReturn(objective);
-            when(scoreboard.getEntries()).thenReturn(Collections.emptySet());
+            Team team = mock(Team.class);
+            SideBarBoard board = createBoard(scoreboard, team);
+            board.setLineCount(2);
+            board.setLine(0, "Line 1");
+            board.setLine(1, "Line 2");
+            clearInvocations(scoreboard, team);
 
-            Map<UUID, Scoreboard> scoreboards = new HashMap<>();
-            scoreboards.put(playerUuid, scoreboard);
-            UltiSideBarTestHelper.setField(service, "playerScoreboards", scoreboards);
+            service.attach(player, board);
 
-            Map<UUID, List<String>> cache = new HashMap<>();
-            cache.put(playerUuid, Arrays.asList("Line 1", "Line 2"));
-            UltiSideBarTestHelper.setField(service, "contentCache", cache);
+            service.updateSidebar(player);
+
+            // Should not touch the scoreboard since content is same
+            verify(scoreboard, never()).resetScores(anyString());
+            verify(team, never()).setPrefix(anyString());
+        }
+
+        @Test
+        @DisplayName("Should only rewrite changed lines")
+        void rewritesChangedLinesOnly() throws Exception {
+            Scoreboard scoreboard = mock(Scoreboard.class);
+            Team team = mock(Team.class);
+            SideBarBoard board = createBoard(scoreboard, team);
+            board.setLineCount(2);
+            board.setLine(0, "Line 1");
+            board.setLine(1, "Old");
+            clearInvocations(scoreboard, team);
+
+            service.attach(player, board);
 
             service.updateSidebar(player);
 
-            // Should not clear scores since content is same
+            verify(team).setPrefix("Line 2");
+            verify(team, never()).setPrefix("Line 1");
             verify(scoreboard, never()).resetScores(anyString());
         }
+
+        @Test
+        @DisplayName("Should record resolved and skipped lines in stats")
+        void recordsStats() throws Exception {
+            when(config.getLines()).thenReturn(Arrays.asList("%player_name%", "static"));
+            Scoreboard scoreboard = mock(Scoreboard.class);
+            SideBarBoard board = createBoard(scoreboard, mock(Team.class));
+
+            service.attach(player, board);
+
+            service.updateSidebar(player);
+            service.updateSidebar(player);
+
+            SideBarStats stats = service.getStats();
+            assertThat(stats.getLinesResolved()).isEqualTo(2);
+            assertThat(stats.getLinesSkipped()).isEqualTo(1);
+            assertThat(stats.getMutations()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should reuse lines whose refresh interval has not passed")
+        void reusesLinesNotDue() throws Exception {
+            when(config.getLines()).thenReturn(Arrays.asList("[refresh:100]%player_name%", "%player_ping%"));
+            SideBarBoard board = createBoard(mock(Scoreboard.class), mock(Team.class));
+
+            service.attach(player, board);
+
+            service.updateSidebar(player);
+            UltiSideBarTestHelper.setField(service, "updateTick", 20L);
+            service.updateSidebar(player);
+
+            SideBarStats stats = service.getStats();
+            assertThat(stats.getLinesResolved()).isEqualTo(3);
+            assertThat(stats.getLinesReused()).isEqualTo(1);
+
+            UltiSideBarTestHelper.setField(service, "updateTick", 100L);
+            service.updateSidebar(player);
+            assertThat(stats.getLinesResolved()).isEqualTo(5);
+        }
+    }
+
+    // ==================== tick budget ====================
+
+    @Nested
+    @DisplayName("Tick budget")
+    class TickBudget {
+
+        private final List<String> resolved = new ArrayList<>();
+
+        private void addPlayer(Player target) {
+            service.attach(target, createBoard(mock(Scoreboard.class), mock(Team.class)));
+        }
+
+        @BeforeEach
+        void setUpSlowPlaceholder() throws Exception {
+            // Each lookup takes 3 ms on a fake clock, so the budget checks do not depend on real timing
+            AtomicLong now = new AtomicLong();
+            UltiSideBarTestHelper.setField(service, "clock", (LongSupplier) now::get);
+            when(config.getLines()).thenReturn(Collections.singletonList("%player_name%"));
+            PlaceholderResolver slow = (target, token) -> {
+                resolved.add(target.getName());
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(3));
+                return target.getName();
+            };
+            UltiSideBarTestHelper.setField(service, "placeholderSource", slow);
+        }
+
+        @Test
+        @DisplayName("Should update everyone when the budget is disabled")
+        void unlimited() throws Exception {
+            when(config.getTickBudget()).thenReturn(0);
+            addPlayer(player);
+            addPlayer(UltiSideBarTestHelper.createMockPlayer("Second", UUID.randomUUID()));
+
+            runTick();
+
+            assertThat(resolved).containsExactlyInAnyOrder("TestPlayer", "Second");
+            assertThat(service.getStats().getDeferred()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should defer players past the budget and serve them first next tick")
+        void defersRoundRobin() throws Exception {
+            when(config.getTickBudget()).thenReturn(1);
+            addPlayer(player);
+            addPlayer(UltiSideBarTestHelper.createMockPlayer("Second", UUID.randomUUID()));
+            addPlayer(UltiSideBarTestHelper.createMockPlayer("Third", UUID.randomUUID()));
+
+            runTick();
+
+            assertThat(resolved).hasSize(1);
+            assertThat(service.getStats().getDeferred()).isEqualTo(2);
+            assertThat(service.getStats().getBacklog()).isEqualTo(2);
+
+            runTick();
+            runTick();
+
+            // Each player got exactly one update before anyone got a second
+            assertThat(resolved).containsExactlyInAnyOrder("TestPlayer", "Second", "Third");
+        }
+
+        @Test
+        @DisplayName("Should not update a backlog player again when its bucket is also due")
+        void skipsDrainedInDueBucket() throws Exception {
+            when(config.getTickBudget()).thenReturn(5);
+            addPlayer(player);
+            addPlayer(UltiSideBarTestHelper.createMockPlayer("Second", UUID.randomUUID()));
+            addPlayer(UltiSideBarTestHelper.createMockPlayer("Third", UUID.randomUUID()));
+
+            runTick();
+            assertThat(resolved).hasSize(2);
+            List<String> names = new ArrayList<>(Arrays.asList("TestPlayer", "Second", "Third"));
+            names.removeAll(resolved);
+            String drained = names.get(0);
+            resolved.clear();
+
+            runTick();
+
+            // The drained player leaves budget for one bucket player; the last is deferred
+            assertThat(resolved).hasSize(2).doesNotHaveDuplicates();
+            assertThat(resolved.get(0)).isEqualTo(drained);
+            assertThat(service.getStats().getBacklog()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should drop deferred players that quit")
+        void dropsQuitPlayers() throws Exception {
+            when(config.getTickBudget()).thenReturn(1);
+            Player second = UltiSideBarTestHelper.createMockPlayer("Second", UUID.randomUUID());
+            addPlayer(player);
+            addPlayer(second);
+
+            runTick();
+            String first = resolved.get(0);
+            service.onPlayerQuit("TestPlayer".equals(first) ? second : player);
+            resolved.clear();
+            runTick();
+
+            assertThat(resolved).containsExactly(first);
+        }
+    }
+
+    // ==================== active players ====================
+
+    @Nested
+    @DisplayName("Active players")
+    class ActivePlayers {
+
+        @Test
+        @DisplayName("Should track players as their sidebar is shown and disabled")
+        void tracksShowAndDisable() {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                stubScoreboards(bukkitMock);
+
+                service.enableSidebar(player);
+                assertThat(service.getActivePlayerCount()).isEqualTo(1);
+
+                service.disableSidebar(player);
+                assertThat(service.getActivePlayerCount()).isZero();
+            }
+        }
+
+        @Test
+        @DisplayName("Should not re-check preferences or blacklist in the update loop")
+        void noChecksInLoop() throws Exception {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                stubScoreboards(bukkitMock);
+                service.showSidebar(player);
+                clearInvocations(config);
+
+                runTick();
+
+                verify(config, never()).getWorldBlacklist();
+                verify(config, never()).isEnabled();
+                assertThat(service.getStats().getPlayersProcessed()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Should drop sidebars the reloaded config no longer allows")
+        void dropsOnReload() throws Exception {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                stubScoreboards(bukkitMock);
+                bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Collections.singletonList(player));
+                service.showSidebar(player);
+                when(config.getWorldBlacklist()).thenReturn(Collections.singletonList("world"));
+
+                invoke("refreshAllSidebars");
+
+                assertThat(service.getActivePlayerCount()).isZero();
+            }
+        }
+    }
+
+    // ==================== shared board ====================
+
+    @Nested
+    @DisplayName("Shared board")
+    class SharedBoard {
+
+        private ScoreboardManager scoreboardManager;
+        private final List<String> resolved = new ArrayList<>();
+
+        @BeforeEach
+        void setUpLayout() throws Exception {
+            when(config.getServerPlaceholders()).thenReturn(Collections.singletonList("server_online"));
+            when(config.getLines()).thenReturn(Arrays.asList("&7Lobby", "%server_online%"));
+            PlaceholderResolver recording = (target, token) -> {
+                resolved.add(token.getRaw());
+                return "10";
+            };
+            UltiSideBarTestHelper.setField(service, "placeholderSource", recording);
+        }
+
+        @Test
+        @DisplayName("Should attach every player to one scoreboard")
+        void sharesOneScoreboard() {
+            Player other = UltiSideBarTestHelper.createMockPlayer("Other", UUID.randomUUID());
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                scoreboardManager = stubScoreboards(bukkitMock);
+
+                service.showSidebar(player);
+                service.showSidebar(other);
+
+                verify(scoreboardManager, times(1)).getNewScoreboard();
+                ArgumentCaptor<Scoreboard> first = ArgumentCaptor.forClass(Scoreboard.class);
+                ArgumentCaptor<Scoreboard> second = ArgumentCaptor.forClass(Scoreboard.class);
+                verify(player).setScoreboard(first.capture());
+                verify(other).setScoreboard(second.capture());
+                assertThat(first.getValue()).isSameAs(second.getValue());
+                assertThat(service.getActivePlayerCount()).isEqualTo(2);
+                assertThat(service.getSharedViewerCount()).isEqualTo(2);
+                assertThat(resolved).hasSize(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Should update the shared board once per cycle regardless of player count")
+        void updatesOncePerCycle() throws Exception {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                scoreboardManager = stubScoreboards(bukkitMock);
+                for (int i = 0; i < 5; i++) {
+                    service.showSidebar(UltiSideBarTestHelper.createMockPlayer("P" + i, UUID.randomUUID()));
+                }
+                resolved.clear();
+
+                runTick();
+
+                assertThat(resolved).containsExactly("%server_online%");
+                assertThat(service.getStats().getPlayersProcessed()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Should merge dirty marks of all viewers into one refresh")
+        void mergesDirtyMarks() throws Exception {
+            Player other = UltiSideBarTestHelper.createMockPlayer("Other", UUID.randomUUID());
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                scoreboardManager = stubScoreboards(bukkitMock);
+                service.showSidebar(player);
+                service.showSidebar(other);
+                UltiSideBarTestHelper.setField(service, "updateTick", 1L);
+                UltiSideBarTestHelper.setField(service, "updateBuckets", new UpdateBuckets<PlayerSidebar>(2));
+                resolved.clear();
+
+                service.markAllDirty(SideBarService.ALL_LINES);
+                runTick();
+
+                assertThat(service.getStats().getDirtyRefreshes()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the board for the remaining viewers when one quits")
+        void keepsBoardOnQuit() {
+            Player other = UltiSideBarTestHelper.createMockPlayer("Other", UUID.randomUUID());
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                scoreboardManager = stubScoreboards(bukkitMock);
+                service.showSidebar(player);
+                service.showSidebar(other);
+
+                service.onPlayerQuit(player);
+                Player third = UltiSideBarTestHelper.createMockPlayer("Third", UUID.randomUUID());
+                service.showSidebar(third);
+
+                assertThat(service.getSharedViewerCount()).isEqualTo(2);
+                verify(scoreboardManager, times(1)).getNewScoreboard();
+            }
+        }
+
+        @Test
+        @DisplayName("Should give players their own board when the layout has player content")
+        void separateBoardsForPlayerContent() {
+            when(config.getLines()).thenReturn(Arrays.asList("&7Lobby", "%player_name%"));
+            Player other = UltiSideBarTestHelper.createMockPlayer("Other", UUID.randomUUID());
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                scoreboardManager = stubScoreboards(bukkitMock);
+
+                service.showSidebar(player);
+                service.showSidebar(other);
+
+                verify(scoreboardManager, times(2)).getNewScoreboard();
+                assertThat(service.getSharedViewerCount()).isZero();
+            }
+        }
+    }
+
+    // ==================== dirty lines ====================
+
+    @Nested
+    @DisplayName("Dirty lines")
+    class DirtyLines {
+
+        private final List<String> resolved = new ArrayList<>();
+
+        @BeforeEach
+        void setUpBoard() throws Exception {
+            when(config.getLines()).thenReturn(Arrays.asList("[refresh:1000]%player_name%", "%player_ping%"));
+            when(config.getPlaceholderTtl()).thenReturn(Collections.singletonList("player_ping: 100"));
+            PlaceholderResolver recording = (target, token) -> {
+                resolved.add(token.getRaw());
+                return "value";
+            };
+            UltiSideBarTestHelper.setField(service, "placeholderSource", recording);
+
+            service.attach(player, createBoard(mock(Scoreboard.class), mock(Team.class)));
+            service.updateSidebar(player);
+            resolved.clear();
+
+            // Keep the player out of the polling loop so only event refreshes run
+            UltiSideBarTestHelper.setField(service, "updateBuckets", new UpdateBuckets<PlayerSidebar>(1));
+        }
+
+        @Test
+        @DisplayName("Should refresh only the dirty lines on the next tick, ignoring refresh intervals")
+        void refreshesDirtyLines() throws Exception {
+            service.markDirty(player, 0);
+            runTick();
+
+            assertThat(resolved).containsExactly("%player_name%");
+            assertThat(service.getStats().getDirtyRefreshes()).isEqualTo(1);
+
+            resolved.clear();
+            runTick();
+            assertThat(resolved).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should merge marks made before the tick")
+        void mergesMarks() throws Exception {
+            service.markDirty(player, 0);
+            service.markDirty(player, 1);
+            runTick();
+
+            assertThat(resolved).containsExactly("%player_name%", "%player_ping%");
+            assertThat(service.getStats().getDirtyRefreshes()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should bypass the placeholder-ttl cache for dirty lines")
+        void bypassesTtlCache() throws Exception {
+            service.updateSidebar(player);
+            assertThat(resolved).doesNotContain("%player_ping%");
+
+            service.markDirty(player, 1);
+            runTick();
+
+            assertThat(resolved).containsExactly("%player_ping%");
+        }
+
+        @Test
+        @DisplayName("Should keep placeholder-ttl values when a line is refreshed for an async value")
+        void keepsTtlForAsyncRefresh() throws Exception {
+            when(config.getLines()).thenReturn(Collections.singletonList("%vault_eco_balance% %player_ping%"));
+            when(config.getPlaceholderTtl()).thenReturn(Collections.singletonList("vault_eco_*: 100"));
+            when(config.getAsyncPlaceholders()).thenReturn(Collections.singletonList("player_ping"));
+            UltiSideBarTestHelper.setField(service, "layout", null);
+            service.updateSidebar(player);
+            resolved.clear();
+            SideBarLayout layout = (SideBarLayout) UltiSideBarTestHelper.getField(service, "layout");
+            PlaceholderToken ping = layout.getLines().get(0).getTokens()[1];
+            Method onChanged = SideBarService.class.getDeclaredMethod(
+                "onAsyncValueChanged", Player.class, PlaceholderToken.class);
+            onChanged.setAccessible(true);
+
+            onChanged.invoke(service, player, ping);
+            runTick();
+            assertThat(resolved).containsExactly("%player_ping%");
+
+            resolved.clear();
+            service.markDirty(player, 0);
+            runTick();
+            assertThat(resolved).containsExactly("%vault_eco_balance%", "%player_ping%");
+        }
+
+        @Test
+        @DisplayName("Should re-resolve server scoped lines instead of reusing the cycle's value")
+        void reResolvesScopedLines() throws Exception {
+            when(config.getServerPlaceholders()).thenReturn(Collections.singletonList("server_online"));
+            when(config.getLines()).thenReturn(Arrays.asList("%server_online%", "%player_name%"));
+            UltiSideBarTestHelper.setField(service, "layout", null);
+            service.updateSidebar(player);
+            resolved.clear();
+            // Mid-cycle tick, so the scope cache is not reset by the cycle start
+            UltiSideBarTestHelper.setField(service, "updateTick", 1L);
+            UltiSideBarTestHelper.setField(service, "updateBuckets", new UpdateBuckets<PlayerSidebar>(2));
+
+            service.markDirty(player, 0);
+            runTick();
+
+            assertThat(resolved).containsExactly("%server_online%");
+        }
+
+        @Test
+        @DisplayName("Should ignore players without a sidebar")
+        void ignoresPlayersWithoutSidebar() throws Exception {
+            service.markDirty(UUID.randomUUID(), SideBarService.ALL_LINES);
+
+            @SuppressWarnings("unchecked")
+            Queue<PlayerSidebar> dirty = (Queue<PlayerSidebar>) UltiSideBarTestHelper.getField(service, "dirtySidebars");
+            assertThat(dirty).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should drop marks when the player quits")
+        void dropsOnQuit() throws Exception {
+            service.markAllDirty(SideBarService.ALL_LINES);
+            service.onPlayerQuit(player);
+
+            runTick();
+
+            assertThat(resolved).isEmpty();
+            assertThat(service.getStats().getDirtyRefreshes()).isZero();
+        }
+    }
+
+    // ==================== async placeholders ====================
+
+    @Nested
+    @DisplayName("Async placeholders")
+    class AsyncPlaceholders {
+
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private AsyncPlaceholderResolver asyncResolver;
+        private SideBarBoard board;
+
+        @BeforeEach
+        void setUpAsync() throws Exception {
+            when(config.getLines()).thenReturn(Arrays.asList("%player_name%", "%player_ping%"));
+            when(config.getAsyncPlaceholders()).thenReturn(Collections.singletonList("player_ping"));
+            PlaceholderResolver source = (target, token) -> {
+                threads.add(token.getRaw() + "@" + Thread.currentThread().getName());
+                return token.getRaw().equals("%player_ping%") ? "42" : "Steve";
+            };
+            UltiSideBarTestHelper.setField(service, "placeholderSource", source);
+
+            Method onChanged = SideBarService.class.getDeclaredMethod(
+                "onAsyncValueChanged", Player.class, PlaceholderToken.class);
+            onChanged.setAccessible(true);
+            asyncResolver = new AsyncPlaceholderResolver(source, (p, t) -> {
+                try {
+                    onChanged.invoke(service, p, t);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, 1, 16);
+            UltiSideBarTestHelper.setField(service, "asyncResolver", asyncResolver);
+
+            board = createBoard(mock(Scoreboard.class), mock(Team.class));
+            service.attach(player, board);
+            UltiSideBarTestHelper.setField(service, "updateBuckets", new UpdateBuckets<PlayerSidebar>(1));
+        }
+
+        @AfterEach
+        void tearDownAsync() {
+            asyncResolver.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should resolve declared placeholders off the main thread and apply them on the next tick")
+        void resolvesOffMainThread() throws Exception {
+            service.updateSidebar(player);
+
+            assertThat(board.getLine(0)).isEqualTo("Steve");
+            assertThat(board.getLine(1)).isEmpty();
+
+            @SuppressWarnings("unchecked")
+            Queue<PlayerSidebar> dirty = (Queue<PlayerSidebar>) UltiSideBarTestHelper.getField(service, "dirtySidebars");
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (dirty.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            // The worker only marks the line dirty; the board is untouched until the tick
+            assertThat(dirty).hasSize(1);
+            assertThat(board.getLine(1)).isEmpty();
+
+            runTick();
+
+            assertThat(board.getLine(1)).isEqualTo("42");
+            assertThat(threads).contains("%player_name%@" + Thread.currentThread().getName());
+            assertThat(threads).anyMatch(call -> call.startsWith("%player_ping%@UltiSideBar-Placeholder-"));
+        }
+
+        @Test
+        @DisplayName("Should drop async values when the player quits")
+        void forgetsOnQuit() throws Exception {
+            service.updateSidebar(player);
+            SideBarLayout layout =
+                (SideBarLayout) UltiSideBarTestHelper.getField(service, "layout");
+            PlaceholderToken ping = layout.getLines().get(1).getTokens()[0];
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (!"42".equals(asyncResolver.resolve(player, ping)) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            service.onPlayerQuit(player);
+
+            assertThat(asyncResolver.resolve(player, ping)).isEmpty();
+        }
     }
 
     // ==================== clearCache ====================
@@ -432,18 +1283,15 @@ class SideBarServiceTest {
         @Test
         @DisplayName("Should clear content cache")
         void clearsCache() throws Exception {
-            Map<UUID, List<String>> cache = new HashMap<>();
-            cache.put(playerUuid, Arrays.asList("Line 1"));
-            UltiSideBarTestHelper.setField(service, "contentCache", cache);
+            SideBarBoard board = createBoard(mock(Scoreboard.class), mock(Team.class));
+            board.setLineCount(1);
+            board.setLine(0, "Line 1");
+
+            service.attach(player, board);
 
             service.clearCache();
 
-            // Verify by reading the field back via reflection on SideBarService
-            java.lang.reflect.Field cacheField = SideBarService.class.getDeclaredField("contentCache");
-            cacheField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            Map<UUID, List<String>> resultCache = (Map<UUID, List<String>>) cacheField.get(service);
-            assertThat(resultCache).isEmpty();
+            assertThat(board.getLine(0)).isNull();
         }
     }
 
@@ -466,6 +1314,50 @@ class SideBarServiceTest {
             verify(spyService).shutdown();
             verify(spyService).init();
         }
+
+        @Test
+        @DisplayName("Should apply interval and tuning changes from the config file without a reload")
+        void appliesConfigChange() throws Exception {
+            BukkitTask updateTask = mock(BukkitTask.class);
+            BukkitTask saveTask = mock(BukkitTask.class);
+            UltiSideBarTestHelper.setField(service, "updateTask", updateTask);
+            UltiSideBarTestHelper.setField(service, "saveTask", saveTask);
+            RefreshEventListener oldListener = mock(RefreshEventListener.class);
+            UltiSideBarTestHelper.setField(service, "refreshEventListener", oldListener);
+            when(config.getRefreshEvents()).thenReturn(Collections.singletonList("PlayerJoinEvent: 1"));
+            service.attach(player, createBoard(mock(Scoreboard.class), mock(Team.class)));
+            when(config.getUpdateInterval()).thenReturn(40);
+            when(config.getPlaceholderCacheSize()).thenReturn(5);
+            when(config.getAsyncThreads()).thenReturn(1);
+            when(config.getAsyncQueueSize()).thenReturn(16);
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
+                bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
+                bukkitMock.when(Bukkit::getOnlinePlayers).thenReturn(Collections.emptyList());
+                PluginManager pluginManager = mock(PluginManager.class);
+                bukkitMock.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+
+                invoke("onConfigChanged");
+
+                assertThat(service.getStats().getInterval()).isEqualTo(40);
+                @SuppressWarnings("unchecked")
+                UpdateBuckets<PlayerSidebar> buckets =
+                    (UpdateBuckets<PlayerSidebar>) UltiSideBarTestHelper.getField(service, "updateBuckets");
+                assertThat(buckets.getBucketCount()).isEqualTo(40);
+                assertThat(buckets.size()).isEqualTo(1);
+                verify(saveTask).cancel();
+                verify(scheduler).runTaskTimerAsynchronously(any(), any(Runnable.class), anyLong(), anyLong());
+                verify(updateTask, never()).cancel();
+                verify(oldListener).unregister();
+                verify(pluginManager).registerEvent(eq(PlayerJoinEvent.class),
+                    any(), any(), any(), any(), eq(true));
+                assertThat(UltiSideBarTestHelper.getField(service, "refreshEventListener")).isNotSameAs(oldListener);
+                assertThat(UltiSideBarTestHelper.getField(service, "asyncResolver")).isNotNull();
+            } finally {
+                ((AsyncPlaceholderResolver) UltiSideBarTestHelper.getField(service, "asyncResolver")).shutdown();
+            }
+        }
     }
 
     // ==================== removeSidebar ====================
@@ -516,12 +1408,28 @@ class SideBarServiceTest {
             when(query.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), true)));
 
             try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
-                org.bukkit.scheduler.BukkitScheduler scheduler = mock(org.bukkit.scheduler.BukkitScheduler.class);
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
                 bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
 
+                service.preloadPreference(playerUuid);
                 service.onPlayerJoin(player);
 
                 verify(scheduler).runTaskLater(any(), any(Runnable.class), eq(10L));
+                verify(scheduler, never()).runTaskAsynchronously(any(), any(Runnable.class));
+            }
+        }
+
+        @Test
+        @DisplayName("Should load preference asynchronously when not preloaded")
+        void loadsAsyncWhenNotPreloaded() {
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
+                bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+                service.onPlayerJoin(player);
+
+                verify(scheduler).runTaskAsynchronously(any(), any(Runnable.class));
+                verify(dataOperator, never()).query();
             }
         }
 
@@ -531,14 +1439,72 @@ class SideBarServiceTest {
             when(query.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), false)));
 
             try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
-                org.bukkit.scheduler.BukkitScheduler scheduler = mock(org.bukkit.scheduler.BukkitScheduler.class);
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
                 bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
 
+                service.preloadPreference(playerUuid);
                 service.onPlayerJoin(player);
 
                 verify(scheduler, never()).runTaskLater(any(), any(Runnable.class), anyLong());
             }
         }
+
+        @Test
+        @DisplayName("Should skip the sidebar instead of querying on the main thread when loading fails")
+        void skipsWhenLoadFails() {
+            when(query.list()).thenThrow(new RuntimeException("db down"));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
+                bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+                service.onPlayerJoin(player);
+                ArgumentCaptor<Runnable> load = ArgumentCaptor.forClass(Runnable.class);
+                verify(scheduler).runTaskAsynchronously(any(), load.capture());
+                load.getValue().run();
+                ArgumentCaptor<Runnable> resume = ArgumentCaptor.forClass(Runnable.class);
+                verify(scheduler).runTask(any(), resume.capture());
+                resume.getValue().run();
+
+                verify(dataOperator, times(1)).query();
+                verify(scheduler, never()).runTaskLater(any(), any(Runnable.class), anyLong());
+            }
+        }
+
+        @Test
+        @DisplayName("Should not show the sidebar to a player who quit during the delay")
+        void skipsPlayerWhoQuit() {
+            when(query.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), true)));
+
+            try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
+                bukkitMock.when(Bukkit::getScheduler).thenReturn(scheduler);
+                ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
+                bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
+
+                service.preloadPreference(playerUuid);
+                service.onPlayerJoin(player);
+                ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+                verify(scheduler).runTaskLater(any(), task.capture(), eq(10L));
+
+                service.onPlayerQuit(player);
+                when(player.isOnline()).thenReturn(false);
+                task.getValue().run();
+
+                assertThat(service.getActivePlayerCount()).isZero();
+                verify(scoreboardManager, never()).getNewScoreboard();
+                verify(player, never()).setScoreboard(any());
+            }
+        }
+
+        @Test
+        @DisplayName("Should not attach an offline player")
+        void refusesOfflinePlayer() {
+            when(player.isOnline()).thenReturn(false);
+
+            assertThat(service.attach(player, createBoard(mock(Scoreboard.class), mock(Team.class)))).isNull();
+            assertThat(service.getActivePlayerCount()).isZero();
+        }
     }
 
     // ==================== onPlayerQuit ====================
@@ -550,18 +1516,30 @@ class SideBarServiceTest {
         @Test
         @DisplayName("Should clean up player data")
         void cleansUpData() throws Exception {
-            Map<UUID, Scoreboard> scoreboards = new HashMap<>();
-            scoreboards.put(playerUuid, mock(Scoreboard.class));
-            UltiSideBarTestHelper.setField(service, "playerScoreboards", scoreboards);
+            PlayerSidebar sidebar = service.attach(player, createBoard(mock(Scoreboard.class), mock(Team.class)));
+
+            service.onPlayerQuit(player);
+
+            assertThat(service.getActivePlayerCount()).isZero();
+            assertThat(sidebar.isActive()).isFalse();
+        }
 
-            Map<UUID, List<String>> cache = new HashMap<>();
-            cache.put(playerUuid, Arrays.asList("test"));
-            UltiSideBarTestHelper.setField(service, "contentCache", cache);
+        @Test
+        @DisplayName("Should drop the player's cached placeholder values")
+        void dropsCachedValues() throws Exception {
+            when(config.getLines()).thenReturn(Collections.singletonList("%vault_eco_balance%"));
+            when(config.getPlaceholderTtl()).thenReturn(Collections.singletonList("vault_eco_*: 100"));
+            UltiSideBarTestHelper.setField(service, "placeholderSource",
+                (PlaceholderResolver) (target, token) -> "10");
+            service.attach(player, createBoard(mock(Scoreboard.class), mock(Team.class)));
+            service.updateSidebar(player);
+            PlaceholderCache cache =
+                (PlaceholderCache) UltiSideBarTestHelper.getField(service, "placeholderCache");
+            assertThat(cache.size()).isEqualTo(1);
 
             service.onPlayerQuit(player);
 
-            assertThat(scoreboards).doesNotContainKey(playerUuid);
-            assertThat(cache).doesNotContainKey(playerUuid);
+            assertThat(cache.size()).isZero();
         }
     }
 
@@ -596,9 +1574,6 @@ class SideBarServiceTest {
             when(config.isEnabled()).thenReturn(true);
             when(query.list()).thenReturn(Arrays.asList(new SideBarPreference(playerUuid.toString(), true)));
 
-            Map<UUID, Scoreboard> scoreboards = new HashMap<>();
-            UltiSideBarTestHelper.setField(service, "playerScoreboards", scoreboards);
-
             try (MockedStatic<Bukkit> bukkitMock = mockStatic(Bukkit.class)) {
                 ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
                 Scoreboard scoreboard = mock(Scoreboard.class);
@@ -607,11 +1582,16 @@ class SideBarServiceTest {
                 bukkitMock.when(Bukkit::getScoreboardManager).thenReturn(scoreboardManager);
                 when(scoreboardManager.getNewScoreboard()).thenReturn(scoreboard);
                 when(scoreboard.registerNewObjective(anyString(), anyString(), anyString())).thenReturn(objective);
+                when(scoreboard.registerNewTeam(anyString())).thenAnswer(inv -> mock(Team.class));
+                when(objective.getScore(anyString())).thenAnswer(inv -> mock(Score.class));
                 when(scoreboard.getEntries()).thenReturn(Collections.emptySet());
 
                 service.onWorldChange(player);
+                service.flushPreferences();
 
                 verify(player).setScoreboard(scoreboard);
+                verify(dataOperator, never()).insert(any());
+                verify(dataOperator, never()).update(anyString(), any(), any());
             }
         }
     }
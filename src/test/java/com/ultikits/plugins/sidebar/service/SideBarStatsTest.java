@@ -0,0 +1,50 @@
+package com.ultikits.plugins.sidebar.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SideBarStats Tests")
+class SideBarStatsTest {
+
+    @Test
+    @DisplayName("Should count cycles and players")
+    void cycles() {
+        SideBarStats stats = new SideBarStats();
+
+        stats.recordCycle(1_000, 5);
+        stats.recordCycle(3_000, 7);
+
+        assertThat(stats.getCycles()).isEqualTo(2);
+        assertThat(stats.getPlayersProcessed()).isEqualTo(12);
+        assertThat(stats.getCycleNanos().max()).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Should count skipped lines and mutations")
+    void lines() {
+        SideBarStats stats = new SideBarStats();
+
+        stats.recordLine(0);
+        stats.recordLine(2);
+        stats.recordMutations(1);
+        stats.recordLineReused();
+
+        assertThat(stats.getLinesResolved()).isEqualTo(2);
+        assertThat(stats.getLinesReused()).isEqualTo(1);
+        assertThat(stats.getLinesSkipped()).isEqualTo(1);
+        assertThat(stats.getMutations()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should sum deferred players and keep the latest backlog")
+    void deferred() {
+        SideBarStats stats = new SideBarStats();
+
+        stats.recordDeferred(3, 3);
+        stats.recordDeferred(2, 4);
+
+        assertThat(stats.getDeferred()).isEqualTo(5);
+        assertThat(stats.getBacklog()).isEqualTo(4);
+    }
+}
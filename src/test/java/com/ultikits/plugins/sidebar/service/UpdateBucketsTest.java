@@ -0,0 +1,87 @@
+package com.ultikits.plugins.sidebar.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UpdateBuckets Tests")
+class UpdateBucketsTest {
+
+    @Test
+    @DisplayName("Should return each player exactly once per interval")
+    void eachPlayerOncePerInterval() {
+        UpdateBuckets<UUID> buckets = new UpdateBuckets<>(20);
+        Set<UUID> players = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            UUID uuid = UUID.randomUUID();
+            players.add(uuid);
+            buckets.add(uuid, uuid);
+        }
+
+        Set<UUID> seen = new HashSet<>();
+        int total = 0;
+        for (long tick = 40; tick < 60; tick++) {
+            for (UUID uuid : buckets.due(tick)) {
+                seen.add(uuid);
+                total++;
+            }
+        }
+
+        assertThat(seen).isEqualTo(players);
+        assertThat(total).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should keep every player when resized")
+    void resize() {
+        UpdateBuckets<UUID> buckets = new UpdateBuckets<>(20);
+        Set<UUID> players = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            UUID uuid = UUID.randomUUID();
+            players.add(uuid);
+            buckets.add(uuid, uuid);
+        }
+
+        UpdateBuckets<UUID> resized = buckets.resize(40);
+
+        Set<UUID> seen = new HashSet<>();
+        for (long tick = 0; tick < 40; tick++) {
+            seen.addAll(resized.due(tick));
+        }
+        assertThat(resized.getBucketCount()).isEqualTo(40);
+        assertThat(resized.size()).isEqualTo(50);
+        assertThat(seen).isEqualTo(players);
+    }
+
+    @Test
+    @DisplayName("Should place a player in the bucket of their UUID hash")
+    void bucketOfUuid() {
+        UpdateBuckets<String> buckets = new UpdateBuckets<>(4);
+        UUID uuid = UUID.randomUUID();
+        buckets.add(uuid, "player");
+
+        assertThat(buckets.due(UpdateBuckets.bucketOf(uuid, 4))).containsExactly("player");
+    }
+
+    @Test
+    @DisplayName("Should remove players")
+    void remove() {
+        UpdateBuckets<String> buckets = new UpdateBuckets<>(1);
+        UUID uuid = UUID.randomUUID();
+        buckets.add(uuid, "player");
+
+        buckets.remove(uuid);
+
+        assertThat(buckets.due(0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should use at least one bucket")
+    void atLeastOneBucket() {
+        assertThat(new UpdateBuckets<>(0).getBucketCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ultikits.plugins.sidebar.template;
+
+import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AsyncPlaceholderResolver Tests")
+class AsyncPlaceholderResolverTest {
+
+    private AtomicInteger calls;
+    private AtomicReference<String> sourceValue;
+    private List<PlaceholderToken> changed;
+    private AsyncPlaceholderResolver resolver;
+    private PlaceholderToken balance;
+    private PlaceholderToken online;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        calls = new AtomicInteger();
+        sourceValue = new AtomicReference<>("100");
+        changed = new CopyOnWriteArrayList<>();
+        resolver = new AsyncPlaceholderResolver((p, t) -> {
+            calls.incrementAndGet();
+            return sourceValue.get();
+        }, (p, t) -> changed.add(t), 1, 16);
+
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setServerPlaceholders(Collections.singletonList("server_online"));
+        config.setAsyncPlaceholders(Arrays.asList("vault_eco_*", "server_online"));
+        config.setLines(Arrays.asList("%vault_eco_balance%", "%server_online%"));
+        SideBarLayout layout = SideBarLayout.compile(config);
+        balance = layout.getLines().get(0).getTokens()[0];
+        online = layout.getLines().get(1).getTokens()[0];
+
+        player = UltiSideBarTestHelper.createMockPlayer("Steve", UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should answer immediately and report the fetched value")
+    void fetchesInBackground() throws Exception {
+        assertThat(resolver.resolve(player, balance)).isEmpty();
+
+        awaitChanges(1);
+        assertThat(changed).containsExactly(balance);
+        assertThat(resolver.resolve(player, balance)).isEqualTo("100");
+    }
+
+    @Test
+    @DisplayName("Should not fetch again when consuming a changed value")
+    void consumesChangedValue() throws Exception {
+        resolver.resolve(player, balance);
+        awaitChanges(1);
+
+        resolver.resolve(player, balance);
+        assertThat(calls.get()).isEqualTo(1);
+
+        // The next regular update fetches again; an unchanged value is not reported
+        resolver.resolve(player, balance);
+        awaitCalls(2);
+        Thread.sleep(50);
+        assertThat(changed).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should run at most one fetch per placeholder at a time")
+    void singleFetchInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        resolver.shutdown();
+        resolver = new AsyncPlaceholderResolver((p, t) -> {
+            calls.incrementAndGet();
+            await(release);
+            return "slow";
+        }, (p, t) -> changed.add(t), 1, 16);
+
+        resolver.resolve(player, balance);
+        resolver.resolve(player, balance);
+        resolver.resolve(player, balance);
+        release.countDown();
+
+        awaitChanges(1);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip fetches when the queue is full and keep the old value")
+    void rejectsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        resolver.shutdown();
+        resolver = new AsyncPlaceholderResolver((p, t) -> {
+            await(release);
+            return t.getRaw();
+        }, (p, t) -> changed.add(t), 1, 1);
+        Player other = UltiSideBarTestHelper.createMockPlayer("Alex", UUID.randomUUID());
+        Player third = UltiSideBarTestHelper.createMockPlayer("Bob", UUID.randomUUID());
+
+        // One running, one queued, one rejected
+        resolver.resolve(player, balance);
+        resolver.resolve(other, balance);
+        resolver.resolve(third, balance);
+        assertThat(resolver.getRejected()).isEqualTo(1);
+        release.countDown();
+
+        awaitChanges(2);
+        assertThat(resolver.resolve(third, balance)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should share server scoped values between players")
+    void sharesServerScope() throws Exception {
+        Player other = UltiSideBarTestHelper.createMockPlayer("Alex", UUID.randomUUID());
+
+        resolver.resolve(player, online);
+        awaitChanges(1);
+
+        assertThat(resolver.resolve(other, online)).isEqualTo("100");
+    }
+
+    @Test
+    @DisplayName("Should forget a player's values")
+    void forgetsPlayer() throws Exception {
+        resolver.resolve(player, balance);
+        awaitChanges(1);
+
+        resolver.forget(player.getUniqueId());
+
+        assertThat(resolver.resolve(player, balance)).isEmpty();
+    }
+
+    private void awaitChanges(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (changed.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(changed).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private void awaitCalls(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(calls.get()).isGreaterThanOrEqualTo(count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ultikits.plugins.sidebar.template;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LineTemplate Tests")
+class LineTemplateTest {
+
+    private Map<String, PlaceholderToken> interned;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        interned = new HashMap<>();
+        player = mock(Player.class);
+    }
+
+    // Resolve into fresh values and build, the way the service renders a line the first time
+    private String render(LineTemplate template, PlaceholderResolver resolver) {
+        String[] values = new String[template.getTokens().length];
+        template.resolve(player, resolver, values);
+        return template.build(values);
+    }
+
+    @Test
+    @DisplayName("Should pre-translate static text")
+    void translatesStaticText() {
+        LineTemplate template = LineTemplate.compile("&6play.example.com", interned);
+
+        assertThat(template.getTokens()).isEmpty();
+        assertThat(render(template, (p, t) -> fail("should not resolve")))
+            .isEqualTo(ChatColor.GOLD + "play.example.com");
+    }
+
+    @Test
+    @DisplayName("Should split placeholders into slots")
+    void splitsPlaceholders() {
+        LineTemplate template = LineTemplate.compile("&eOnline: &f%server_online%/%server_max_players%", interned);
+
+        assertThat(template.getTokens()).extracting(PlaceholderToken::getRaw)
+            .containsExactly("%server_online%", "%server_max_players%");
+        assertThat(render(template, (p, t) -> t.getParams()))
+            .isEqualTo(ChatColor.YELLOW + "Online: " + ChatColor.WHITE + "online/max_players");
+    }
+
+    @Test
+    @DisplayName("Should translate color codes in resolved values")
+    void translatesValues() {
+        LineTemplate template = LineTemplate.compile("%player_name%", interned);
+
+        assertThat(render(template, (p, t) -> "&cRed")).isEqualTo(ChatColor.RED + "Red");
+    }
+
+    @Test
+    @DisplayName("Should report changed values and build text only from them")
+    void resolveIntoValues() {
+        LineTemplate template = LineTemplate.compile("&e%player_name% %player_ping%ms", interned);
+        String[] values = new String[2];
+
+        assertThat(template.resolve(player, (p, t) -> t.getParams(), values)).isTrue();
+        assertThat(values).containsExactly("name", "ping");
+        assertThat(template.build(values)).isEqualTo(ChatColor.YELLOW + "name pingms");
+
+        assertThat(template.resolve(player, (p, t) -> t.getParams(), values)).isFalse();
+        assertThat(template.resolve(player, (p, t) -> "x", values)).isTrue();
+        assertThat(values).containsExactly("x", "x");
+    }
+
+    @Test
+    @DisplayName("Should keep percent signs that are not placeholders")
+    void keepsLiteralPercent() {
+        LineTemplate template = LineTemplate.compile("100% of %player_ping%ms", interned);
+
+        assertThat(template.getTokens()).hasSize(1);
+        assertThat(render(template, (p, t) -> "5")).isEqualTo("100% of 5ms");
+    }
+
+    @Test
+    @DisplayName("Should intern identical placeholders")
+    void internsTokens() {
+        LineTemplate first = LineTemplate.compile("%player_name%", interned);
+        LineTemplate second = LineTemplate.compile("Hi %player_name%", interned);
+
+        assertThat(first.getTokens()[0]).isSameAs(second.getTokens()[0]);
+    }
+
+    @Test
+    @DisplayName("Should split identifier and params")
+    void tokenParts() {
+        PlaceholderToken token = new PlaceholderToken("%server_time_hh:mm:ss%");
+
+        assertThat(token.getIdentifier()).isEqualTo("server");
+        assertThat(token.getParams()).isEqualTo("time_hh:mm:ss");
+    }
+
+    @Test
+    @DisplayName("Should treat null source as empty line")
+    void nullSource() {
+        LineTemplate template = LineTemplate.compile(null, interned);
+
+        assertThat(render(template, (p, t) -> "x")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expose static text only for static lines")
+    void staticText() {
+        LineTemplate staticLine = LineTemplate.compile("&7Server time", interned);
+        LineTemplate dynamicLine = LineTemplate.compile("%server_time_hh:mm:ss%", interned);
+
+        assertThat(staticLine.isStatic()).isTrue();
+        assertThat(staticLine.getStaticText()).isEqualTo(ChatColor.GRAY + "Server time");
+        assertThat(dynamicLine.isStatic()).isFalse();
+        assertThatThrownBy(dynamicLine::getStaticText).isInstanceOf(IllegalStateException.class);
+    }
+}
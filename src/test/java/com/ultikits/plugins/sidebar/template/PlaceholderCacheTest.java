@@ -0,0 +1,153 @@
+package com.ultikits.plugins.sidebar.template;
+
+import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PlaceholderCache Tests")
+class PlaceholderCacheTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private AtomicInteger calls;
+    private AtomicLong now;
+    private PlaceholderCache cache;
+    private PlaceholderToken balance;
+    private PlaceholderToken online;
+    private PlaceholderToken name;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        calls = new AtomicInteger();
+        now = new AtomicLong();
+        cache = new PlaceholderCache((p, t) -> t.getRaw() + calls.incrementAndGet(), now::get, 100);
+
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setServerPlaceholders(Collections.singletonList("server_online"));
+        config.setPlaceholderTtl(Arrays.asList("vault_eco_*: 100", "server_online: 20"));
+        config.setLines(Arrays.asList("%vault_eco_balance%", "%server_online%", "%player_name%"));
+        SideBarLayout layout = SideBarLayout.compile(config);
+        balance = layout.getLines().get(0).getTokens()[0];
+        online = layout.getLines().get(1).getTokens()[0];
+        name = layout.getLines().get(2).getTokens()[0];
+
+        player = UltiSideBarTestHelper.createMockPlayer("Steve", UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should reuse a value until its TTL expires")
+    void reusesUntilExpired() {
+        String first = cache.resolve(player, balance);
+
+        now.addAndGet(99 * TICK);
+        assertThat(cache.resolve(player, balance)).isEqualTo(first);
+        assertThat(calls.get()).isEqualTo(1);
+
+        now.addAndGet(TICK);
+        assertThat(cache.resolve(player, balance)).isNotEqualTo(first);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should call the source again after a value is expired")
+    void expiresEntry() {
+        Player other = UltiSideBarTestHelper.createMockPlayer("Alex", UUID.randomUUID());
+        String first = cache.resolve(player, balance);
+        cache.resolve(other, balance);
+
+        cache.expire(player, balance);
+
+        assertThat(cache.resolve(player, balance)).isNotEqualTo(first);
+        cache.resolve(other, balance);
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache placeholders without a TTL")
+    void passesThroughWithoutTtl() {
+        cache.resolve(player, name);
+        cache.resolve(player, name);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cache per player")
+    void perPlayer() {
+        Player other = UltiSideBarTestHelper.createMockPlayer("Alex", UUID.randomUUID());
+
+        cache.resolve(player, balance);
+        cache.resolve(other, balance);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should share server scoped values between players")
+    void sharesServerScope() {
+        Player other = UltiSideBarTestHelper.createMockPlayer("Alex", UUID.randomUUID());
+
+        String value = cache.resolve(player, online);
+
+        assertThat(cache.resolve(other, online)).isEqualTo(value);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entries when full")
+    void evictsOldest() {
+        cache.setMaxEntries(2);
+        Player second = UltiSideBarTestHelper.createMockPlayer("Alex", UUID.randomUUID());
+        Player third = UltiSideBarTestHelper.createMockPlayer("Bob", UUID.randomUUID());
+
+        cache.resolve(player, balance);
+        cache.resolve(second, balance);
+        cache.resolve(third, balance);
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.resolve(second, balance);
+        assertThat(calls.get()).isEqualTo(3);
+        cache.resolve(player, balance);
+        assertThat(calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop a player's values when they are forgotten")
+    void forgetsPlayer() {
+        cache.resolve(player, balance);
+        cache.resolve(player, online);
+
+        cache.forget(player.getUniqueId());
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.resolve(player, balance);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop every value on clear")
+    void clears() {
+        cache.resolve(player, balance);
+        cache.resolve(player, online);
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,152 @@
+package com.ultikits.plugins.sidebar.template;
+
+import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PlaceholderGuard Tests")
+class PlaceholderGuardTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private AtomicLong now;
+    private AtomicLong cost;
+    private AtomicInteger calls;
+    private AtomicReference<RuntimeException> failure;
+    private List<PlaceholderToken> opened;
+    private PlaceholderGuard guard;
+    private PlaceholderToken balance;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        cost = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(1));
+        calls = new AtomicInteger();
+        failure = new AtomicReference<>();
+        opened = new ArrayList<>();
+        guard = new PlaceholderGuard((p, t) -> {
+            now.addAndGet(cost.get());
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return "value" + calls.incrementAndGet();
+        }, now::get, opened::add);
+        guard.configure(10, 3, 200, "-");
+
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Collections.singletonList("%vault_eco_balance%"));
+        balance = SideBarLayout.compile(config).getLines().get(0).getTokens()[0];
+
+        player = UltiSideBarTestHelper.createMockPlayer("Steve", UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should record call count, total and max time")
+    void recordsTiming() {
+        guard.resolve(player, balance);
+        cost.set(TimeUnit.MILLISECONDS.toNanos(3));
+        guard.resolve(player, balance);
+
+        PlaceholderProfile profile = balance.getProfile();
+        assertThat(profile.getCalls()).isEqualTo(2);
+        assertThat(profile.getTotalNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(4));
+        assertThat(profile.getMaxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(3));
+        assertThat(profile.getAverageNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+    }
+
+    @Test
+    @DisplayName("Should serve the last good value when a call fails")
+    void servesLastGoodOnError() {
+        assertThat(guard.resolve(player, balance)).isEqualTo("value1");
+
+        failure.set(new IllegalStateException("database down"));
+
+        assertThat(guard.resolve(player, balance)).isEqualTo("value1");
+        assertThat(balance.getProfile().getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve the fallback when no good value is known")
+    void servesFallback() {
+        failure.set(new IllegalStateException("database down"));
+
+        assertThat(guard.resolve(player, balance)).isEqualTo("-");
+    }
+
+    @Test
+    @DisplayName("Should open the breaker after repeated slow calls and skip the expansion")
+    void opensOnSlowCalls() {
+        guard.resolve(player, balance);
+        cost.set(TimeUnit.MILLISECONDS.toNanos(30));
+        guard.resolve(player, balance);
+        guard.resolve(player, balance);
+        assertThat(opened).isEmpty();
+
+        String last = guard.resolve(player, balance);
+        assertThat(opened).containsExactly(balance);
+        assertThat(balance.getProfile().isOpen(now.get())).isTrue();
+
+        assertThat(guard.resolve(player, balance)).isEqualTo(last);
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(balance.getProfile().getShortCircuited()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should close after the cooldown and reopen on the next bad call")
+    void halfOpen() {
+        failure.set(new IllegalStateException("database down"));
+        for (int i = 0; i < 3; i++) {
+            guard.resolve(player, balance);
+        }
+        assertThat(opened).hasSize(1);
+
+        now.addAndGet(200 * TICK);
+        guard.resolve(player, balance);
+        assertThat(opened).hasSize(2);
+
+        now.addAndGet(200 * TICK);
+        failure.set(null);
+        assertThat(guard.resolve(player, balance)).startsWith("value");
+        assertThat(balance.getProfile().isOpen(now.get())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reset the bad call streak after a good call")
+    void resetsStreak() {
+        cost.set(TimeUnit.MILLISECONDS.toNanos(30));
+        guard.resolve(player, balance);
+        guard.resolve(player, balance);
+        cost.set(TimeUnit.MILLISECONDS.toNanos(1));
+        guard.resolve(player, balance);
+        cost.set(TimeUnit.MILLISECONDS.toNanos(30));
+        guard.resolve(player, balance);
+        guard.resolve(player, balance);
+
+        assertThat(opened).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should forget a player's last good values")
+    void forgetsPlayer() {
+        guard.resolve(player, balance);
+        guard.forget(player.getUniqueId());
+        failure.set(new IllegalStateException("database down"));
+
+        assertThat(guard.resolve(player, balance)).isEqualTo("-");
+    }
+}
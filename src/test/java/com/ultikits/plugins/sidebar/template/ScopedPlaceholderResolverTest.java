@@ -0,0 +1,100 @@
+package com.ultikits.plugins.sidebar.template;
+
+import com.ultikits.plugins.sidebar.UltiSideBarTestHelper;
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ScopedPlaceholderResolver Tests")
+class ScopedPlaceholderResolverTest {
+
+    private AtomicInteger calls;
+    private ScopedPlaceholderResolver resolver;
+    private PlaceholderToken server;
+    private PlaceholderToken world;
+    private PlaceholderToken player;
+
+    @BeforeEach
+    void setUp() {
+        calls = new AtomicInteger();
+        resolver = new ScopedPlaceholderResolver((p, t) -> t.getRaw() + calls.incrementAndGet());
+
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setServerPlaceholders(Collections.singletonList("server_online"));
+        config.setWorldPlaceholders(Collections.singletonList("world_name"));
+        config.setLines(Arrays.asList("%server_online%", "%world_name%", "%player_name%"));
+        SideBarLayout layout = SideBarLayout.compile(config);
+        server = layout.getLines().get(0).getTokens()[0];
+        world = layout.getLines().get(1).getTokens()[0];
+        player = layout.getLines().get(2).getTokens()[0];
+    }
+
+    @Test
+    @DisplayName("Should resolve server scope once per cycle")
+    void serverScopeOncePerCycle() {
+        Player first = UltiSideBarTestHelper.createMockPlayer("A", UUID.randomUUID());
+        Player second = UltiSideBarTestHelper.createMockPlayer("B", UUID.randomUUID());
+
+        String value = resolver.resolve(first, server);
+
+        assertThat(resolver.resolve(second, server)).isEqualTo(value);
+        assertThat(calls.get()).isEqualTo(1);
+
+        resolver.nextCycle();
+        resolver.resolve(second, server);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should resolve world scope once per world")
+    void worldScopeOncePerWorld() {
+        Player first = UltiSideBarTestHelper.createMockPlayer("A", UUID.randomUUID());
+        Player second = UltiSideBarTestHelper.createMockPlayer("B", UUID.randomUUID());
+        Player nether = UltiSideBarTestHelper.createMockPlayer("C", UUID.randomUUID());
+        World netherWorld = mock(World.class);
+        when(netherWorld.getName()).thenReturn("world_nether");
+        when(nether.getWorld()).thenReturn(netherWorld);
+
+        resolver.resolve(first, world);
+        resolver.resolve(second, world);
+        resolver.resolve(nether, world);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should resolve player scope every time")
+    void playerScopeAlwaysResolved() {
+        Player first = UltiSideBarTestHelper.createMockPlayer("A", UUID.randomUUID());
+
+        resolver.resolve(first, player);
+        resolver.resolve(first, player);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop shared values on clear")
+    void clear() {
+        Player first = UltiSideBarTestHelper.createMockPlayer("A", UUID.randomUUID());
+
+        resolver.resolve(first, server);
+        resolver.resolve(first, world);
+        resolver.clear();
+        resolver.resolve(first, server);
+        resolver.resolve(first, world);
+
+        assertThat(calls.get()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ultikits.plugins.sidebar.template;
+
+import com.ultikits.plugins.sidebar.config.SideBarConfig;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SideBarLayout Tests")
+class SideBarLayoutTest {
+
+    @Test
+    @DisplayName("Should compile title and every line")
+    void compilesLines() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("&6%server_name%");
+        config.setLines(Arrays.asList("%player_name%", "", "&7static"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getTitle().getSource()).isEqualTo("&6%server_name%");
+        assertThat(layout.getLines()).extracting(LineTemplate::getSource)
+            .containsExactly("%player_name%", "", "&7static");
+    }
+
+    @Test
+    @DisplayName("Should drop lines the sidebar cannot display")
+    void dropsExtraLines() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        String[] lines = new String[SideBarLayout.MAX_LINES + 3];
+        Arrays.fill(lines, "");
+        config.setLines(Arrays.asList(lines));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getLines()).hasSize(SideBarLayout.MAX_LINES);
+    }
+
+    @Test
+    @DisplayName("Should collect distinct placeholders")
+    void collectsTokens() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Arrays.asList("%player_name%", "%player_name% %player_ping%"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getTokens()).extracting(PlaceholderToken::getRaw)
+            .containsExactly("%player_name%", "%player_ping%");
+    }
+
+    @Test
+    @DisplayName("Should index only lines with placeholders as dynamic")
+    void dynamicLines() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Arrays.asList("", "&7static", "%player_name%", "&6play.example.com", "%player_ping%"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getDynamicLines()).containsExactly(2, 4);
+        assertThat(layout.getTitle().isStatic()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should classify placeholder scopes from config patterns")
+    void classifiesScopes() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Arrays.asList("%server_online%", "%server_time_hh:mm:ss%", "%world_name%", "%player_name%"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getTokens()).extracting(PlaceholderToken::getScope).containsExactly(
+            PlaceholderScope.SERVER, PlaceholderScope.SERVER, PlaceholderScope.WORLD, PlaceholderScope.PLAYER);
+    }
+
+    @Test
+    @DisplayName("Should detect layouts that render the same for every player")
+    void playerIndependent() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("&6%server_name%");
+        config.setLines(Arrays.asList("&7static", "%server_online%"));
+        assertThat(SideBarLayout.compile(config).isPlayerIndependent()).isTrue();
+
+        config.setLines(Arrays.asList("&7static", "%world_name%"));
+        assertThat(SideBarLayout.compile(config).isPlayerIndependent()).isFalse();
+
+        config.setLines(Arrays.asList("&7static", "%player_name%"));
+        assertThat(SideBarLayout.compile(config).isPlayerIndependent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flag async placeholders from config patterns")
+    void classifiesAsync() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setAsyncPlaceholders(Collections.singletonList("vault_eco_*"));
+        config.setLines(Arrays.asList("%vault_eco_balance%", "%player_name%"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getTokens()).extracting(PlaceholderToken::isAsync).containsExactly(true, false);
+    }
+
+    @Test
+    @DisplayName("Should assign placeholder TTLs from the first matching entry")
+    void placeholderTtl() {
+        assertThat(SideBarLayout.ttlOf("vault_eco_balance", Arrays.asList("vault_eco_*: 100", "vault_eco_balance: 5")))
+            .isEqualTo(100);
+        assertThat(SideBarLayout.ttlOf("server_time_hh:mm:ss", Arrays.asList("server_time_hh:mm:ss: 20")))
+            .isEqualTo(20);
+        assertThat(SideBarLayout.ttlOf("player_ping", Arrays.asList("player_ping: abc"))).isZero();
+        assertThat(SideBarLayout.ttlOf("player_name", Arrays.asList("player_ping: 40"))).isZero();
+        assertThat(SideBarLayout.ttlOf("player_name", null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record the lines each placeholder is used on")
+    void lineMasks() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("&6%server_name%");
+        config.setLines(Arrays.asList("%player_name%", "", "%player_name% %player_ping%"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getTokens()).extracting(PlaceholderToken::getLineMask)
+            .containsExactly(-1L, 0b101L, 0b100L);
+    }
+
+    @Test
+    @DisplayName("Should strip refresh prefixes and keep their intervals")
+    void refreshIntervals() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Arrays.asList("[refresh:100]&eBalance: %vault_eco_balance%", "%player_ping%"));
+
+        SideBarLayout layout = SideBarLayout.compile(config);
+
+        assertThat(layout.getLines().get(0).getSource()).isEqualTo("&eBalance: %vault_eco_balance%");
+        assertThat(layout.getRefreshInterval(0)).isEqualTo(100);
+        assertThat(layout.getRefreshInterval(1)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed refresh prefixes")
+    void malformedRefresh() {
+        assertThat(SideBarLayout.parseRefresh("[refresh:abc]text")).isZero();
+        assertThat(SideBarLayout.parseRefresh("[refresh:20")).isZero();
+        assertThat(SideBarLayout.parseRefresh("[refresh: 20 ]text")).isEqualTo(20);
+        assertThat(SideBarLayout.parseRefresh(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should strip refresh prefixes with a zero or invalid interval and warn about invalid ones")
+    void stripsInvalidRefresh() {
+        SideBarConfig config = new SideBarConfig();
+        config.setTitle("Title");
+        config.setLines(Arrays.asList("[refresh:0]&aZero", "[refresh:abc]&bText", "[refresh:-5]&cNegative"));
+        List<String> warnings = new ArrayList<>();
+
+        SideBarLayout layout = SideBarLayout.compile(config, warnings::add);
+
+        assertThat(layout.getLines()).extracting(LineTemplate::getSource)
+            .containsExactly("&aZero", "&bText", "&cNegative");
+        assertThat(layout.getRefreshInterval(0)).isZero();
+        assertThat(layout.getRefreshInterval(1)).isZero();
+        assertThat(layout.getRefreshInterval(2)).isZero();
+        assertThat(warnings).hasSize(2);
+        assertThat(warnings.get(0)).contains("line 2").contains("[refresh:abc]");
+    }
+}